@@ -1,6 +1,8 @@
 package org.hda.gaf;
 
+import org.hda.gaf.algorithm.crossover.CrossoverAlgorithm;
 import org.hda.gaf.algorithm.examples.Examples;
+import org.hda.gaf.algorithm.geneticalgorithm.SteadyStateAlgorithm;
 
 public class DefaultOptions {
 
@@ -11,14 +13,30 @@ public class DefaultOptions {
     public final static int POPULATION_AMOUNT = 2500;
     public final static float MUTATION_RATE = 0.02F;
     public final static float CROSSOVER_RATE = 0.25F;
+    public final static CrossoverAlgorithm.Type CROSSOVER_TYPE = CrossoverAlgorithm.Type.SINGLE_POINT;
+
+    public final static int STEADY_STATE_BATCH_SIZE = 50; //offspring bred at once with --steady-state
+    public final static SteadyStateAlgorithm.Replacement STEADY_STATE_REPLACEMENT = SteadyStateAlgorithm.Replacement.WORST;
+    public final static int REPLACEMENT_CANDIDATE_AMOUNT = 2; //tournament size for TOURNAMENT_LOSER replacement
 
     public final static int CANDIDATE_AMOUNT_PER_SELECTION = 200;
+    public final static boolean SAMPLES_UNIVERSALLY = false; //stochastic universal sampling for fitness proportional selection
+
+    public final static boolean CALC_HEMMING_DISTANCE = true;
 
-    public final static boolean CALC_HEMMING_DISTANCE = false;
+    public final static boolean EVALUATE_WITH_FOLDING_KERNEL = false; //same results as the structure builder without allocating per genome
+    public final static int EVALUATION_THREADS = 1;
+    public final static boolean SKIP_UNCHANGED_EVALUATIONS = false;
+    public final static int FITNESS_CACHE_SIZE = 0; //genomes whose results are kept, 0 -> no cache
+    public final static int FOLD_CHECKPOINT_INTERVAL = 0; //0 -> offspring are always folded from the start, needs the folding kernel otherwise
+    public final static boolean PIPELINE_GENERATIONS = false; //select, crossover, mutate and evaluate block by block
 
     public final static String PRIMARY_SEQUENCE = Examples.SEQ156;
 
     public final static boolean PRINT_WHILE_GENERATING = false;
+    public final static boolean REGISTERS_MONITOR = true; //MBean org.hda.gaf:type=GeneticAlgorithm,rank=<rank> for jconsole
+    public final static boolean TIMES_PHASES = false; //prints durations of every phase per process and for all processes
+    public final static int CHART_BUCKET_AMOUNT = 512; //points per chart line are at most twice as many, however long the run
 
     public static final int MPJ_POPULATION_EXCHANGE_TIMES = 5;
 }
@@ -11,7 +11,7 @@ import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartUtilities;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PlotOrientation;
-import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.xy.XYSeriesCollection;
 
 import java.io.File;
 import java.util.concurrent.TimeUnit;
@@ -55,9 +55,9 @@ public class Main {
     }
 
     private static void saveChart(Population population) {
-        DefaultCategoryDataset lineChartDataset = population.getLineChartDataset();
+        XYSeriesCollection lineChartDataset = population.getConvergenceSeries().toDataset();
 
-        JFreeChart lineChartObject = ChartFactory.createLineChart(
+        JFreeChart lineChartObject = ChartFactory.createXYLineChart(
                 "Genetic Algorithm flow", "Generation",
                 "Fitness",
                 lineChartDataset, PlotOrientation.VERTICAL,
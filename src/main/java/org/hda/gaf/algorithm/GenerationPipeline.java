@@ -0,0 +1,99 @@
+package org.hda.gaf.algorithm;
+
+import org.hda.gaf.algorithm.crossover.CrossoverAlgorithm;
+import org.hda.gaf.algorithm.evaluation.FitnessCalculator;
+import org.hda.gaf.algorithm.genome.Genome;
+import org.hda.gaf.algorithm.mutation.MutationAlgorithm;
+import org.hda.gaf.algorithm.selectionalgorithm.SelectionAlgorithm.ChunkPicker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Builds a generation block by block instead of pass by pass: every block of offspring picks its parents, copies,
+ * crosses over, mutates, evaluates and counts them while its genomes are still in the cache.
+ * Only the selection prepared once per generation, e.g. its alias table, is shared between the blocks, the statistics of the blocks are merged at the end.
+ * <p>
+ * Neighboring offspring are paired for crossover. Every pick of the selection is random, so this pairs like a permutation.
+ * Crossovers and mutations are spread over the blocks so that their total amounts equal those of the separate passes.
+ */
+public class GenerationPipeline {
+
+    private static final int BLOCK_SIZE = 64; //even -> no pair of parents is split between blocks
+
+    private SplittableRandom rand = new SplittableRandom();
+    private WorkerPool workerPool = WorkerPool.CALLING_THREAD;
+
+    /**
+     * Seeds the random stream every block draws its parents and seeds from. With the same seed the blocks repeat, whatever thread runs them.
+     */
+    public GenerationPipeline usesSeed(long seed) {
+        this.rand = new SplittableRandom(seed);
+        return this;
+    }
+
+    public GenerationPipeline usesWorkers(WorkerPool workerPool) {
+        this.workerPool = workerPool;
+        return this;
+    }
+
+    public StatisticAccumulator performGeneration(Population population, float crossoverRate, float mutationRate) {
+        List<Genome> parents = population.getGenepool();
+        ChunkPicker parentPicker = population.getSelectionAlgorithm().prepareSelection(population);
+        int size = population.getStore().getSize();
+
+        List<Genome> genepool = new ArrayList<>(Collections.nCopies(size, (Genome) null));
+        FitnessCalculator fitnessCalculator = population.getFitnessCalculator();
+        PopulationStore store = population.getStore();
+        fitnessCalculator.startGeneration(store, size);
+
+        int crossoverPairs = Math.min(new CrossoverAlgorithm(crossoverRate, size).getCrossoverTimes(), size / 2);
+        int geneAmount = parents.isEmpty() ? 0 : parents.get(0).size();
+        long mutationTimes = Math.round((float) size * geneAmount * mutationRate);
+
+        List<StatisticAccumulator> blockAccumulators = workerPool.performInChunks(size, BLOCK_SIZE, (start, end) -> {
+            SplittableRandom selectionRandom = rand.split();
+            CrossoverAlgorithm crossoverAlgorithm = new CrossoverAlgorithm(crossoverRate, size)
+                    .usesType(population.getCrossoverType())
+                    .usesSeed(rand.nextLong());
+            MutationAlgorithm mutationAlgorithm = new MutationAlgorithm().usesSeed(rand.nextLong());
+            int blockMutationTimes = (int) (mutationTimes * end / size - mutationTimes * start / size);
+
+            return () -> {
+                int[] selection = new int[end - start];
+                parentPicker.pick(selection, 0, selection.length, selectionRandom);
+                for (int i = start; i < end; i++) {
+                    int parent = selection[i - start];
+                    genepool.set(i, parents.get(parent).descendantOf(parent)); //picked multiple times -> must not share mutations
+                }
+
+                for (int i = start; i + 1 < end; i += 2) {
+                    if (isCrossedOver(i / 2, crossoverPairs, size / 2)) {
+                        crossoverAlgorithm.doOneCrossoverOnParents(genepool.get(i), genepool.get(i + 1));
+                    }
+                }
+
+                mutationAlgorithm.mutate(genepool.subList(start, end), blockMutationTimes);
+
+                StatisticAccumulator accumulator = new StatisticAccumulator();
+                accumulator.addSkippedEvaluations(fitnessCalculator.calculateFitnessOfRange(genepool, store, start, end));
+                for (int i = start; i < end; i++) {
+                    accumulator.add(store, i);
+                }
+                return accumulator;
+            };
+        }, "Generation");
+
+        StatisticAccumulator accumulator = new StatisticAccumulator();
+        blockAccumulators.forEach(accumulator::merge);
+        population.setGenepool(genepool);
+        return accumulator;
+    }
+
+    //spreads the crossed over pairs evenly over all pairs
+    private static boolean isCrossedOver(int pair, int crossoverPairs, int pairs) {
+        return (long) (pair + 1) * crossoverPairs / pairs > (long) pair * crossoverPairs / pairs;
+    }
+}
@@ -2,7 +2,9 @@ package org.hda.gaf.algorithm;
 
 import org.hda.gaf.algorithm.geneticalgorithm.GenerationLimitedAlgorithm;
 import org.hda.gaf.algorithm.geneticalgorithm.GeneticAlgorithm;
+import org.hda.gaf.algorithm.geneticalgorithm.SteadyStateAlgorithm;
 import org.hda.gaf.algorithm.geneticalgorithm.TimeLimitedAlgorithm;
+import org.hda.gaf.algorithm.monitoring.GeneticAlgorithmMonitor;
 import org.hda.gaf.algorithm.selectionalgorithm.FitnessProportionalSelectionAlgorithm;
 import org.hda.gaf.algorithm.selectionalgorithm.TunierBestFitnessSelectionAlgorithm;
 import org.hda.gaf.algorithm.selectionalgorithm.TunierFitnessProportionalSelectionAlgorithm;
@@ -21,6 +23,7 @@ public class GeneticAlgorithmGenerator {
         GeneticAlgorithm geneticAlgorithm;
 
         geneticAlgorithm = getBaseAlgorithmFromArgs(args, rank);
+        int threads = getThreadsFromArgs(args, rank);
 
         geneticAlgorithm
                 .startedAt(Instant.now().toEpochMilli())
@@ -28,12 +31,23 @@ public class GeneticAlgorithmGenerator {
                 .usesPrimarySequence(PRIMARY_SEQUENCE)
                 .hasPopulationAmountOf(POPULATION_AMOUNT)
                 .hasCrossoverRateOf(CROSSOVER_RATE)
+                .crossesOverWith(CROSSOVER_TYPE)
                 .hasMutationRateOf(MUTATION_RATE)
                 .calculatesHammingDistance(CALC_HEMMING_DISTANCE)
+                .evaluatesWithFoldingKernel(EVALUATE_WITH_FOLDING_KERNEL)
+                .evaluatesWithThreads(threads)
+                .skipsUnchangedGenomes(SKIP_UNCHANGED_EVALUATIONS)
+                .cachesFitnessOf(FITNESS_CACHE_SIZE)
+                .sharesFoldPrefixesEvery(FOLD_CHECKPOINT_INTERVAL)
+                .pipelinesGenerations(PIPELINE_GENERATIONS)
                 .printsWhileGenerating(PRINT_WHILE_GENERATING);
 
         addSelectionAlgorithm(geneticAlgorithm, rank);
 
+        if (REGISTERS_MONITOR) {
+            geneticAlgorithm.reportsTo(new GeneticAlgorithmMonitor(rank).register());
+        }
+
         return geneticAlgorithm;
     }
 
@@ -43,7 +57,10 @@ public class GeneticAlgorithmGenerator {
         int timeCommandIndex = commands.indexOf("--time");
         int generationCommandIndex = commands.indexOf("--generation");
 
-        if (timeCommandIndex != -1) {
+        if (commands.contains("--steady-state")) {
+            geneticAlgorithm = getSteadyStateAlgorithm(rank, commands, timeCommandIndex, generationCommandIndex);
+
+        } else if (timeCommandIndex != -1) {
 
             geneticAlgorithm = getTimeLimitedAlgorithm(args, rank, commands, timeCommandIndex);
 
@@ -95,10 +112,54 @@ public class GeneticAlgorithmGenerator {
         return geneticAlgorithm;
     }
 
+    private GeneticAlgorithm getSteadyStateAlgorithm(int rank, List<String> commands, int timeCommandIndex, int generationCommandIndex) {
+        SteadyStateAlgorithm geneticAlgorithm = new SteadyStateAlgorithm()
+                .breedsInBatchesOf(STEADY_STATE_BATCH_SIZE)
+                .replaces(STEADY_STATE_REPLACEMENT, REPLACEMENT_CANDIDATE_AMOUNT);
+
+        if (timeCommandIndex != -1) {
+            long timeLimit = TIME_LIMIT;
+            if (commands.size() > timeCommandIndex + 1) {
+                timeLimit = Long.valueOf(commands.get(timeCommandIndex + 1));
+            }
+
+            geneticAlgorithm.usesTimeLimit(timeLimit / MPJ_POPULATION_EXCHANGE_TIMES);
+            if (rank == 0) {
+                System.out.println("Executing 'steady state' algorithm with " + timeLimit + " ms per process.");
+            }
+        } else {
+            int generationAmount = GENERATION_AMOUNT;
+            if (generationCommandIndex != -1 && commands.size() > generationCommandIndex + 1) {
+                generationAmount = Integer.valueOf(commands.get(generationCommandIndex + 1));
+            }
+
+            geneticAlgorithm.usesGenerationLimit(generationAmount / MPJ_POPULATION_EXCHANGE_TIMES);
+            if (rank == 0) {
+                System.out.println("Executing 'steady state' algorithm with total " + generationAmount + " generations of offspring per process.");
+            }
+        }
+        return geneticAlgorithm;
+    }
+
+    private int getThreadsFromArgs(String[] args, int rank) {
+        List<String> commands = Arrays.asList(args);
+        int threadsCommandIndex = commands.indexOf("--threads");
+        int threads = EVALUATION_THREADS;
+
+        if (threadsCommandIndex != -1 && args.length > threadsCommandIndex + 1) {
+            threads = Integer.valueOf(commands.get(threadsCommandIndex + 1));
+        }
+
+        if (rank == 0) {
+            System.out.println("Evaluating and selecting with " + threads + " thread(s) per process.");
+        }
+        return threads;
+    }
+
     private void addSelectionAlgorithm(GeneticAlgorithm geneticAlgorithm, int rank) {
         if (rank % 3 == 0) {
             System.out.println(rank + " uses fitness proportional selection algorithm");
-            geneticAlgorithm.usesSelectionAlgorithm(new FitnessProportionalSelectionAlgorithm());
+            geneticAlgorithm.usesSelectionAlgorithm(new FitnessProportionalSelectionAlgorithm().samplesUniversally(SAMPLES_UNIVERSALLY));
 
         } else if (rank % 3 == 1) {
             System.out.println(rank + " uses tunier proportional selection algorithm");
@@ -118,7 +179,11 @@ public class GeneticAlgorithmGenerator {
                     "# specify total time spend per process\n" +
                     "mpjrun.sh -np 4 -jar <jar-path> --time <time in ms>\n \n" +
                     "# specify total generation amount per process\n" +
-                    "mpjrun.sh -np 4 -jar <jar-path> --generation <generations>\n \n");
+                    "mpjrun.sh -np 4 -jar <jar-path> --generation <generations>\n \n" +
+                    "# breed in small batches replacing individuals in place (combinable with 'time' or 'generation')\n" +
+                    "mpjrun.sh -np 4 -jar <jar-path> --steady-state\n \n" +
+                    "# specify evaluation and selection threads per process (combinable with the options above)\n" +
+                    "mpjrun.sh -np 4 -jar <jar-path> --threads <threads>\n \n");
             System.out.flush();
         }
     }
@@ -1,20 +1,22 @@
 package org.hda.gaf.algorithm;
 
 import org.hda.gaf.algorithm.crossover.CrossoverAlgorithm;
+import org.hda.gaf.algorithm.evaluation.FitnessCache;
 import org.hda.gaf.algorithm.evaluation.FitnessCalculator;
 import org.hda.gaf.algorithm.evaluation.counter.HammingDistanceCounter;
-import org.hda.gaf.algorithm.evaluation.direction.RelativeDirection;
 import org.hda.gaf.algorithm.evaluation.node.Structure;
+import org.hda.gaf.algorithm.genome.Genome;
 import org.hda.gaf.algorithm.mutation.MutationAlgorithm;
+import org.hda.gaf.algorithm.output.ConvergenceSeries;
 import org.hda.gaf.algorithm.selectionalgorithm.SelectionAlgorithm;
 import lombok.Getter;
 import lombok.Setter;
-import org.jfree.data.category.DefaultCategoryDataset;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+
+import static org.hda.gaf.DefaultOptions.CHART_BUCKET_AMOUNT;
 
 /**
  * Created by marcus on 07.05.16.
@@ -26,38 +28,47 @@ public class Population {
     private long startTime;
     private boolean documentsStatistic;
 
-    private List<List<RelativeDirection>> genepool;
+    private List<Genome> genepool;
 
-    private List<Structure> structures;
+    private PopulationStore store;
     private Structure bestProtein;
 
     private double totalRelativeFitness;
     private double averageRelativeFitness;
 
     private PopulationStatistic statistic;
+    private StatisticAccumulator statisticAccumulator; //statistic of the individuals currently in the store
 
-    private DefaultCategoryDataset lineChartDataset;
+    private ConvergenceSeries convergenceSeries;
     private SelectionAlgorithm selectionAlgorithm;
+    private CrossoverAlgorithm.Type crossoverType = CrossoverAlgorithm.Type.SINGLE_POINT;
+    private FitnessCalculator fitnessCalculator;
+    private HammingDistanceCounter hammingDistanceCounter = new HammingDistanceCounter();
 
     public Population(int populationSize) {
         genepool = new ArrayList<>(populationSize);
-        structures = new ArrayList<>(populationSize);
+        store = new PopulationStore(populationSize);
         bestProtein = new Structure();
         statistic = new PopulationStatistic();
 
-        lineChartDataset = new DefaultCategoryDataset();
+        convergenceSeries = new ConvergenceSeries(CHART_BUCKET_AMOUNT, "average absoluteFitness", "best overall absoluteFitness",
+                "best absoluteFitness in generation", "average hamming");
     }
 
-    public void addGensToGenpool(List<RelativeDirection> gens) {
+    public void addGensToGenpool(Genome gens) {
         genepool.add(gens);
     }
 
-    public void addStructure(Structure structure) {
-        structures.add(structure);
+    public void saveResults(int totalGeneration) {
+        saveResults(totalGeneration, StatisticAccumulator.of(store));
     }
 
-    public void saveResults(int totalGeneration) {
-        Structure currentBestProtein = calculateStatisticAndGetCurrentBestProtein();
+    /**
+     * Saves the results of a generation whose statistic was already accumulated while evaluating it.
+     */
+    public void saveResults(int totalGeneration, StatisticAccumulator accumulator) {
+        this.statisticAccumulator = accumulator;
+        Structure currentBestProtein = buildStructure(calculateStatisticAndGetIndexOfCurrentBestProtein(accumulator));
 
         checkForNewBestProtein(currentBestProtein);
 
@@ -77,27 +88,37 @@ public class Population {
         }
     }
 
-    private Structure calculateStatisticAndGetCurrentBestProtein() {
-        double totalAbsoluteFitness = structures.stream().mapToDouble(Structure::getAbsoluteFitness).sum();
-        int totalNeighborCounter = structures.stream().mapToInt(Structure::getNeighborCounter).sum();
-        int totalOverlapCounter = structures.stream().mapToInt(Structure::getOverlappCounter).sum();
-        double totalHammingDistance = structures.stream().mapToDouble(Structure::getAverageHammingDistance).sum();
-        Optional<Structure> currentBestProtein = structures.stream().max(Comparator.comparing(Structure::getAbsoluteFitness));
+    private int calculateStatisticAndGetIndexOfCurrentBestProtein(StatisticAccumulator accumulator) {
+        int size = accumulator.getCount();
 
-        double averageAbsoluteFitness = totalAbsoluteFitness / (double) structures.size();
-        double averageNeighborCounter = (double) totalNeighborCounter / (double) structures.size();
-        double averageOverlapCounter = (double) totalOverlapCounter / (double) structures.size();
-        double averageHammingDistance = totalHammingDistance / (double) structures.size();
+        double totalHammingDistance = Arrays.stream(store.getHamming(), 0, size).sum(); //calculated after the evaluation
+        double averageHammingDistance = totalHammingDistance / (double) size;
 
-        statistic.setTotalFitness(totalAbsoluteFitness);
-        statistic.setAverageFitness(averageAbsoluteFitness);
-        statistic.setAverageNeighborCounter(averageNeighborCounter);
-        statistic.setAverageOverlapCounter(averageOverlapCounter);
+        statistic.setTotalFitness(accumulator.getTotalFitness());
+        statistic.setAverageFitness(accumulator.getAverageFitness());
+        statistic.setFitnessVariance(accumulator.getFitnessVariance());
+        statistic.setMinFitness(accumulator.getMinFitness());
+        statistic.setAverageNeighborCounter(accumulator.getAverageNeighborCounter());
+        statistic.setAverageOverlapCounter(accumulator.getAverageOverlapCounter());
         statistic.setTotalHammingDistance(totalHammingDistance);
         statistic.setAverageHammingDistance(averageHammingDistance);
         statistic.setBestProtein(bestProtein);
 
-        return currentBestProtein.orElse(null);
+        return accumulator.getBestIndex();
+    }
+
+    /**
+     * Folds the genome at the given index again, as only the primitive results are kept per individual.
+     */
+    public Structure buildStructure(int index) {
+        if (index < 0) {
+            return null;
+        }
+
+        Structure structure = fitnessCalculator.buildStructureWithFitness(genepool.get(index).copy());
+        structure.setTotalHammingDistance(store.getTotalHamming()[index]);
+        structure.setAverageHammingDistance(store.getHamming()[index]);
+        return structure;
     }
 
     private void saveAndPrintResults(int totalGeneration, Structure currentBestProtein) {
@@ -112,8 +133,15 @@ public class Population {
         System.out.println("Generation " + currentGeneration + ":");
         System.out.println("  Total Fitness: " + statistic.getTotalFitness());
         System.out.println("  Average Fitness " + statistic.getAverageFitness());
+        System.out.println("  Fitness variance: " + statistic.getFitnessVariance());
         System.out.println("  Average neighbor count: " + statistic.getAverageNeighborCounter());
         System.out.println("  Average overlap count: " + statistic.getAverageOverlapCounter());
+        System.out.println("  Skipped evaluations: " + statistic.getSkippedEvaluations());
+        if (fitnessCalculator != null && fitnessCalculator.getFitnessCache() != null) {
+            FitnessCache fitnessCache = fitnessCalculator.getFitnessCache();
+            System.out.println("  Fitness cache: hits " + fitnessCache.getHits() + ", misses " + fitnessCache.getMisses()
+                    + ", evictions " + fitnessCache.getEvictions());
+        }
         System.out.println("  Total Hamming distance: " + statistic.getTotalHammingDistance());
         System.out.println("  Average Hamming distance: " + statistic.getAverageHammingDistance());
         System.out.println("  Best overall: Fitness: " + statistic.getBestProtein().getAbsoluteFitness());
@@ -127,11 +155,11 @@ public class Population {
     }
 
     private void saveValuesForChart(int currentGeneration, Structure currentBestProtein) {
-        //        lineChartDataset.addValue(totalAbsoluteFitness, "total absoluteFitness", String.valueOf(currentGeneration));
-        lineChartDataset.addValue(statistic.getAverageFitness(), "average absoluteFitness", String.valueOf(currentGeneration));
-        lineChartDataset.addValue(statistic.getBestProtein().getAbsoluteFitness(), "best overall absoluteFitness", String.valueOf(currentGeneration));
-        lineChartDataset.addValue(statistic.getBestProteinInGeneration().getAbsoluteFitness(), "best absoluteFitness in generation", String.valueOf(currentGeneration));
-        lineChartDataset.addValue(statistic.getAverageHammingDistance(), "average hamming", String.valueOf(currentGeneration));
+        convergenceSeries.add(currentGeneration,
+                statistic.getAverageFitness(),
+                statistic.getBestProtein().getAbsoluteFitness(),
+                statistic.getBestProteinInGeneration().getAbsoluteFitness(),
+                statistic.getAverageHammingDistance());
     }
 
     public void select() {
@@ -139,7 +167,7 @@ public class Population {
     }
 
     public void crossover(float crossoverRate) {
-        CrossoverAlgorithm crossoverAlgorithm = new CrossoverAlgorithm(crossoverRate, genepool.size());
+        CrossoverAlgorithm crossoverAlgorithm = new CrossoverAlgorithm(crossoverRate, genepool.size()).usesType(crossoverType);
         this.genepool = crossoverAlgorithm.crossoverGenepoolOfPopulation(genepool);
     }
 
@@ -149,13 +177,15 @@ public class Population {
     }
 
     public void evaluate(String primarySequence) {
-        new FitnessCalculator(primarySequence).calculateFitnessOfPopulation(this);
+        if (fitnessCalculator == null || !fitnessCalculator.evaluates(primarySequence)) {
+            fitnessCalculator = new FitnessCalculator(primarySequence);
+        }
+        fitnessCalculator.calculateFitnessOfPopulation(this);
+        statistic.setSkippedEvaluations(fitnessCalculator.getSkippedEvaluations());
     }
 
-    public List<Structure> calculateHammingDistance(boolean calcHammingDistance) {
-        HammingDistanceCounter hammingDistanceCounter = new HammingDistanceCounter();
-        structures = hammingDistanceCounter.calculateHammingDistance(calcHammingDistance, structures);
-        return structures;
+    public PopulationStore calculateHammingDistance(boolean calcHammingDistance) {
+        return hammingDistanceCounter.calculateHammingDistance(calcHammingDistance, genepool, store);
     }
 
     public void usesSelectionAlgorithm(SelectionAlgorithm selectionAlgorithm) {
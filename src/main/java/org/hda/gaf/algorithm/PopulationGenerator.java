@@ -1,10 +1,9 @@
 package org.hda.gaf.algorithm;
 
 import org.hda.gaf.algorithm.evaluation.direction.RelativeDirection;
+import org.hda.gaf.algorithm.genome.Genome;
 
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
 
 import static org.hda.gaf.algorithm.evaluation.direction.RelativeDirection.*;
@@ -30,17 +29,17 @@ public class PopulationGenerator {
 
     public Population generateStartPopulation() {
         for (int i = 0; i < populationSize; i++) {
-            List<RelativeDirection> gens = generateGensForSingleProtein();
+            Genome gens = generateGensForSingleProtein();
             population.addGensToGenpool(gens);
         }
 
         return population;
     }
 
-    private List<RelativeDirection> generateGensForSingleProtein() {
-        List<RelativeDirection> protein = new ArrayList<>(directionsPerProtein);
+    private Genome generateGensForSingleProtein() {
+        Genome protein = new Genome(directionsPerProtein);
         for (int i = 0; i < directionsPerProtein; i++) {
-            protein.add(generateRandomDirection());
+            protein.set(i, generateRandomDirection());
         }
 
         return protein;
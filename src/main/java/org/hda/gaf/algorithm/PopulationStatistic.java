@@ -14,8 +14,11 @@ public class PopulationStatistic {
     private int generation;
     private double totalFitness;
     private double averageFitness;
+    private double fitnessVariance;
+    private double minFitness;
     private double averageNeighborCounter;
     private double averageOverlapCounter;
+    private int skippedEvaluations;
 
     private double totalHammingDistance;
     private double averageHammingDistance;
@@ -0,0 +1,120 @@
+package org.hda.gaf.algorithm;
+
+import lombok.Getter;
+import org.hda.gaf.algorithm.evaluation.node.Structure;
+
+/**
+ * Evaluation results of a population as primitive columns indexed like the genepool.
+ * The columns are reused between generations and only grow when the population gets bigger.
+ * The results of the last generation are kept aside while a new one is evaluated, so unchanged individuals can take them over.
+ */
+@Getter
+public class PopulationStore {
+
+    private int size;
+
+    private double[] fitness;
+    private double[] relativeFitness;
+    private int[] contacts;
+    private int[] directContacts;
+    private int[] overlaps;
+    private double[] totalHamming;
+    private double[] hamming;
+
+    private int previousSize;
+    private double[] previousFitness;
+    private int[] previousContacts;
+    private int[] previousDirectContacts;
+    private int[] previousOverlaps;
+
+    public PopulationStore(int capacity) {
+        allocate(capacity);
+        previousFitness = new double[0];
+        previousContacts = new int[0];
+        previousDirectContacts = new int[0];
+        previousOverlaps = new int[0];
+    }
+
+    public void resize(int size) {
+        if (size > fitness.length) {
+            allocate(size);
+        }
+        this.size = size;
+    }
+
+    /**
+     * Keeps the current results as the previous generation and resizes the columns for the next one.
+     */
+    public void startGeneration(int size) {
+        double[] swapFitness = previousFitness;
+        previousFitness = fitness;
+        fitness = swapFitness;
+
+        int[] swapContacts = previousContacts;
+        previousContacts = contacts;
+        contacts = swapContacts;
+
+        int[] swapDirectContacts = previousDirectContacts;
+        previousDirectContacts = directContacts;
+        directContacts = swapDirectContacts;
+
+        int[] swapOverlaps = previousOverlaps;
+        previousOverlaps = overlaps;
+        overlaps = swapOverlaps;
+
+        previousSize = this.size;
+        resize(size);
+    }
+
+    private void allocate(int capacity) {
+        fitness = new double[capacity];
+        relativeFitness = new double[capacity];
+        contacts = new int[capacity];
+        directContacts = new int[capacity];
+        overlaps = new int[capacity];
+        totalHamming = new double[capacity];
+        hamming = new double[capacity];
+    }
+
+    public void record(int index, Structure structure) {
+        record(index, structure.getAbsoluteFitness(), structure.getNeighborCounter(), structure.getDirectNeighborCounter(),
+                structure.getOverlappCounter());
+    }
+
+    public void record(int index, double fitness, int contacts, int directContacts, int overlaps) {
+        this.fitness[index] = fitness;
+        this.contacts[index] = contacts;
+        this.directContacts[index] = directContacts;
+        this.overlaps[index] = overlaps;
+        this.totalHamming[index] = 0;
+        this.hamming[index] = 0;
+    }
+
+    public void record(int index, PopulationStore store, int storeIndex) {
+        record(index, store.fitness[storeIndex], store.contacts[storeIndex], store.directContacts[storeIndex], store.overlaps[storeIndex]);
+    }
+
+    public boolean hasPreviousResult(int origin) {
+        return origin >= 0 && origin < previousSize;
+    }
+
+    public void recordPreviousResult(int index, int origin) {
+        record(index, previousFitness[origin], previousContacts[origin], previousDirectContacts[origin], previousOverlaps[origin]);
+    }
+
+    public int getValidContacts(int index) {
+        return contacts[index] - directContacts[index];
+    }
+
+    public int indexOfBestFitness() {
+        int bestIndex = -1;
+        double bestFitness = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            if (fitness[i] > bestFitness) {
+                bestFitness = fitness[i];
+                bestIndex = i;
+            }
+        }
+        return bestIndex;
+    }
+}
@@ -0,0 +1,198 @@
+package org.hda.gaf.algorithm;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Statistic of a population collected in a single pass over the store: totals of the counters, the fitness mean and variance
+ * by Welford's method, the fitness range and the best individual.
+ * Every thread can fill its own accumulator, which are merged afterwards in genepool order.
+ */
+@Getter
+public class StatisticAccumulator {
+
+    private int count;
+    private double totalFitness;
+    private long totalNeighborCounter;
+    private long totalOverlapCounter;
+    private int skippedEvaluations;
+
+    @Getter(AccessLevel.NONE)
+    private double meanFitness;
+    @Getter(AccessLevel.NONE)
+    private double squaredDeviations; //sum of squared differences to the mean
+
+    @Getter(AccessLevel.NONE)
+    private double minFitness = Double.POSITIVE_INFINITY;
+    @Getter(AccessLevel.NONE)
+    private int bestIndex = -1;
+    @Getter(AccessLevel.NONE)
+    private double bestFitness = Double.NEGATIVE_INFINITY;
+    @Getter(AccessLevel.NONE)
+    private boolean knowsMin = true;
+    @Getter(AccessLevel.NONE)
+    private boolean knowsBest = true;
+    @Getter(AccessLevel.NONE)
+    private PopulationStore store; //rescanned for unknown extremes, set once an individual was removed
+
+    public static StatisticAccumulator of(PopulationStore store) {
+        StatisticAccumulator accumulator = new StatisticAccumulator();
+        for (int i = 0; i < store.getSize(); i++) {
+            accumulator.add(store, i);
+        }
+        return accumulator;
+    }
+
+    public void add(PopulationStore store, int index) {
+        double fitness = store.getFitness()[index];
+
+        count++;
+        totalFitness += fitness;
+        totalNeighborCounter += store.getContacts()[index];
+        totalOverlapCounter += store.getOverlaps()[index];
+
+        double deviation = fitness - meanFitness;
+        meanFitness += deviation / count;
+        squaredDeviations += deviation * (fitness - meanFitness);
+
+        //an unknown extreme is still passed by the removed one, so an individual beyond it is the new extreme
+        if (fitness < minFitness) {
+            minFitness = fitness;
+            knowsMin = true;
+        }
+        if (fitness > bestFitness) {
+            bestFitness = fitness;
+            bestIndex = index;
+            knowsBest = true;
+        }
+    }
+
+    /**
+     * Takes the individual at the index out of the statistic before it gets replaced.
+     * If it had the best or the lowest fitness, that extreme is searched in the store again when it is read next.
+     * The accumulator must cover the whole store then.
+     */
+    public void remove(PopulationStore store, int index) {
+        double fitness = store.getFitness()[index];
+        this.store = store;
+
+        count--;
+        totalFitness -= fitness;
+        totalNeighborCounter -= store.getContacts()[index];
+        totalOverlapCounter -= store.getOverlaps()[index];
+
+        if (count == 0) {
+            meanFitness = 0;
+            squaredDeviations = 0;
+        } else {
+            double deviation = fitness - meanFitness;
+            meanFitness -= deviation / count;
+            squaredDeviations = Math.max(0, squaredDeviations - deviation * (fitness - meanFitness));
+        }
+
+        if (index == bestIndex) {
+            knowsBest = false;
+        }
+        if (fitness <= minFitness) {
+            knowsMin = false;
+        }
+    }
+
+    public boolean knowsExtremes() {
+        return knowsMin && knowsBest;
+    }
+
+    public double getMinFitness() {
+        if (!knowsMin) {
+            findExtremes();
+        }
+        return minFitness;
+    }
+
+    public int getBestIndex() {
+        if (!knowsBest) {
+            findExtremes();
+        }
+        return bestIndex;
+    }
+
+    public double getBestFitness() {
+        if (!knowsBest) {
+            findExtremes();
+        }
+        return bestFitness;
+    }
+
+    //on equal fitness the first individual is the best, like when the accumulator is built
+    private void findExtremes() {
+        double[] fitness = store.getFitness();
+
+        minFitness = Double.POSITIVE_INFINITY;
+        bestFitness = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < store.getSize(); i++) {
+            if (fitness[i] < minFitness) {
+                minFitness = fitness[i];
+            }
+            if (fitness[i] > bestFitness) {
+                bestFitness = fitness[i];
+                bestIndex = i;
+            }
+        }
+        knowsMin = true;
+        knowsBest = true;
+    }
+
+    public void addSkippedEvaluations(int skippedEvaluations) {
+        this.skippedEvaluations += skippedEvaluations;
+    }
+
+    public double getAverageFitness() {
+        return meanFitness;
+    }
+
+    /**
+     * Variance of the fitness over the whole population (divided by the amount, not the amount - 1).
+     */
+    public double getFitnessVariance() {
+        return count == 0 ? 0 : squaredDeviations / count;
+    }
+
+    public double getAverageNeighborCounter() {
+        return (double) totalNeighborCounter / (double) count;
+    }
+
+    public double getAverageOverlapCounter() {
+        return (double) totalOverlapCounter / (double) count;
+    }
+
+    /**
+     * Adds the statistic of an accumulator over later indices. On equal fitness the earlier best individual stays.
+     */
+    public StatisticAccumulator merge(StatisticAccumulator other) {
+        if (other.count > 0) {
+            int mergedCount = count + other.count;
+            double deviation = other.meanFitness - meanFitness;
+
+            meanFitness += deviation * other.count / mergedCount;
+            squaredDeviations += other.squaredDeviations + deviation * deviation * count * other.count / mergedCount;
+            count = mergedCount;
+        }
+
+        totalFitness += other.totalFitness;
+        totalNeighborCounter += other.totalNeighborCounter;
+        totalOverlapCounter += other.totalOverlapCounter;
+        skippedEvaluations += other.skippedEvaluations;
+
+        if (store == null) {
+            store = other.store;
+        }
+        knowsMin &= other.knowsMin;
+        knowsBest &= other.knowsBest;
+        minFitness = Math.min(minFitness, other.minFitness);
+        if (other.bestFitness > bestFitness) {
+            bestFitness = other.bestFitness;
+            bestIndex = other.bestIndex;
+        }
+        return this;
+    }
+}
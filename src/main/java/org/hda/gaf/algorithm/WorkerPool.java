@@ -0,0 +1,98 @@
+package org.hda.gaf.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Threads of one genetic algorithm, shared by evaluation, selection, the generation pipeline and the Hamming distance.
+ * With one thread every chunk runs in the calling thread and no pool is started. The pool is started with the first chunks
+ * and started again if it is used after {@link #close()}.
+ */
+public class WorkerPool implements AutoCloseable {
+
+    public static final WorkerPool CALLING_THREAD = new WorkerPool(1);
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final int threadAmount;
+    private ForkJoinPool pool;
+
+    public WorkerPool(int threadAmount) {
+        this.threadAmount = Math.max(1, threadAmount);
+    }
+
+    public int getThreadAmount() {
+        return threadAmount;
+    }
+
+    public interface ChunkFactory<T> {
+
+        /**
+         * Creates the work on the indices from index from to index to (exclusive). Called in chunk order by the calling thread,
+         * so e.g. random streams can be split in a repeatable order.
+         */
+        Callable<T> create(int from, int to);
+    }
+
+    /**
+     * Splits amount indices into a few chunks per thread, or into one chunk if there is only one thread.
+     */
+    public <T> List<T> performInChunks(int amount, ChunkFactory<T> chunkFactory, String work) {
+        int chunkAmount = threadAmount == 1 ? 1 : threadAmount * CHUNKS_PER_THREAD;
+        return performInChunks(amount, Math.max(1, (amount + chunkAmount - 1) / chunkAmount), chunkFactory, work);
+    }
+
+    /**
+     * Splits amount indices into chunks of chunkSize and returns their results in chunk order.
+     * Failures are rethrown as IllegalStateException, named after the work.
+     */
+    public <T> List<T> performInChunks(int amount, int chunkSize, ChunkFactory<T> chunkFactory, String work) {
+        List<Callable<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < amount; from += chunkSize) {
+            chunks.add(chunkFactory.create(from, Math.min(from + chunkSize, amount)));
+        }
+
+        List<T> results = new ArrayList<>(chunks.size());
+        try {
+            if (threadAmount == 1) {
+                for (Callable<T> chunk : chunks) {
+                    results.add(chunk.call());
+                }
+            } else {
+                for (Future<T> chunk : getPool().invokeAll(chunks)) {
+                    results.add(chunk.get());
+                }
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(work + " was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(work + " failed", e.getCause());
+        } catch (Exception e) {
+            throw new IllegalStateException(work + " failed", e);
+        }
+    }
+
+    private synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(threadAmount);
+        }
+        return pool;
+    }
+
+    /**
+     * Stops the threads once they finished their chunks.
+     */
+    @Override
+    public synchronized void close() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+}
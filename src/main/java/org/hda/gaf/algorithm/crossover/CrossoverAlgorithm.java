@@ -1,22 +1,26 @@
 package org.hda.gaf.algorithm.crossover;
 
-import org.hda.gaf.algorithm.evaluation.direction.RelativeDirection;
+import org.hda.gaf.algorithm.genome.Genome;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
 /**
  * Created by marcus on 16.05.16.
+ * <p>
+ * Pairs parents through one random permutation of the genepool and exchanges their genes in place,
+ * so both parents are replaced by their children. Genepools of a selection hold a copy per pick, so no genome is shared.
  */
 public class CrossoverAlgorithm {
 
+    public enum Type {
+        SINGLE_POINT, TWO_POINT, UNIFORM
+    }
+
     private int crossoverTimes;
     private Random rand;
-
-    private List<RelativeDirection> firstParent;
-    private List<RelativeDirection> secondParent;
+    private Type type = Type.SINGLE_POINT;
 
     public CrossoverAlgorithm(float crossoverRate, int populationAmount) {
         this.crossoverTimes = (Math.round(crossoverRate * populationAmount) + 1) / 2;
@@ -24,48 +28,78 @@ public class CrossoverAlgorithm {
         this.rand = new Random(Instant.now().toEpochMilli());
     }
 
-    public List<List<RelativeDirection>> crossoverGenepoolOfPopulation(List<List<RelativeDirection>> oldGenepool) {
-        List<List<RelativeDirection>> crossoveredGenepool = new ArrayList<>();
-
-        for (int i = 0; i < crossoverTimes; i++) {
-            firstParent = getParentAndRemoveFromPool(oldGenepool);
-            secondParent = getParentAndRemoveFromPool(oldGenepool);
-
-            crossoveredGenepool = doOneCrossoverOnParents(crossoveredGenepool);
-        }
-
-        oldGenepool.addAll(crossoveredGenepool);
+    public CrossoverAlgorithm usesSeed(long seed) {
+        this.rand = new Random(seed);
+        return this;
+    }
 
-        return oldGenepool;
+    public CrossoverAlgorithm usesType(Type type) {
+        this.type = type;
+        return this;
     }
 
-    private List<RelativeDirection> getParentAndRemoveFromPool(List<List<RelativeDirection>> oldGenepool) {
-        int oldGenepoolIndex = rand.nextInt(oldGenepool.size());
-        return oldGenepool.remove(oldGenepoolIndex);
+    /**
+     * Amount of parent pairs that get crossed over in a genepool of the population amount.
+     */
+    public int getCrossoverTimes() {
+        return crossoverTimes;
     }
 
-    private List<List<RelativeDirection>> doOneCrossoverOnParents(List<List<RelativeDirection>> crossoveredGenepool) {
-        int spliceIndex = rand.nextInt(firstParent.size() - 1) + 1;
+    public List<Genome> crossoverGenepoolOfPopulation(List<Genome> genepool) {
+        int pairs = Math.min(crossoverTimes, genepool.size() / 2);
+        int[] indices = drawParents(genepool.size(), pairs * 2);
 
-        List<RelativeDirection> firstParentFirstHalf = firstParent.subList(0, spliceIndex);
-        List<RelativeDirection> firstParentSecondHalf = firstParent.subList(spliceIndex, firstParent.size());
-        List<RelativeDirection> secondParentFirstHalf = secondParent.subList(0, spliceIndex);
-        List<RelativeDirection> secondParentSecondHalf = secondParent.subList(spliceIndex, secondParent.size());
+        for (int i = 0; i < pairs; i++) {
+            Genome firstParent = genepool.get(indices[2 * i]);
+            Genome secondParent = genepool.get(indices[2 * i + 1]);
 
-        List<RelativeDirection> firstChild = buildChildFromParents(firstParentFirstHalf, secondParentSecondHalf);
-        List<RelativeDirection> secondChild = buildChildFromParents(secondParentFirstHalf, firstParentSecondHalf);
+            doOneCrossoverOnParents(firstParent, secondParent);
+        }
+
+        return genepool;
+    }
+
+    //partial Fisher-Yates shuffle -> the first parentAmount indices are distinct random parents
+    private int[] drawParents(int size, int parentAmount) {
+        int[] indices = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = i;
+        }
 
-        crossoveredGenepool.add(firstChild);
-        crossoveredGenepool.add(secondChild);
+        for (int i = 0; i < parentAmount; i++) {
+            int drawn = i + rand.nextInt(size - i);
 
-        return crossoveredGenepool;
+            int parent = indices[drawn];
+            indices[drawn] = indices[i];
+            indices[i] = parent;
+        }
+        return indices;
     }
 
-    private List<RelativeDirection> buildChildFromParents(List<RelativeDirection> firstHalf, List<RelativeDirection> secondHalf) {
-        List<RelativeDirection> child = new ArrayList<>();
-        child.addAll(firstHalf);
-        child.addAll(secondHalf);
+    /**
+     * Exchanges genes of both parents in place, so they become the two children.
+     */
+    public void doOneCrossoverOnParents(Genome firstParent, Genome secondParent) {
+        int size = firstParent.size();
+        if (size < 2) {
+            return;
+        }
 
-        return child;
+        switch (type) {
+            case SINGLE_POINT:
+                int spliceIndex = rand.nextInt(size - 1) + 1;
+                firstParent.swapGenesWith(secondParent, spliceIndex, size);
+                break;
+            case TWO_POINT:
+                int from = rand.nextInt(size - 1) + 1;
+                int to = from + 1 + rand.nextInt(size - from);
+                firstParent.swapGenesWith(secondParent, from, to);
+                break;
+            case UNIFORM:
+                for (int wordIndex = 0; wordIndex < firstParent.getWordAmount(); wordIndex++) {
+                    firstParent.swapSelectedGenesWith(secondParent, wordIndex, rand.nextLong());
+                }
+                break;
+        }
     }
 }
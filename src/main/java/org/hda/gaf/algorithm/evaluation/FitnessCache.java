@@ -0,0 +1,158 @@
+package org.hda.gaf.algorithm.evaluation;
+
+import org.hda.gaf.algorithm.genome.Genome;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of evaluation results by genome content, evicting the least recently used genome when full.
+ * All evaluation threads share one cache, so it is split into segments chosen by the hash of the genome,
+ * each with its own lock and its own least recently used order. Caches of less than 128 genomes have a single segment.
+ */
+public class FitnessCache {
+
+    private static final int MAX_SEGMENT_BITS = 4; //16 segments
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+
+    private final int capacity;
+    private final int segmentBits;
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public FitnessCache(int capacity) {
+        this.capacity = capacity;
+
+        int segmentBits = 0;
+        while (segmentBits < MAX_SEGMENT_BITS && capacity >> (segmentBits + 1) >= MIN_SEGMENT_CAPACITY) {
+            segmentBits++;
+        }
+        this.segmentBits = segmentBits;
+
+        int segmentAmount = 1 << segmentBits;
+        this.segments = new Segment[segmentAmount];
+        for (int i = 0; i < segmentAmount; i++) {
+            segments[i] = new Segment(capacity / segmentAmount + (i < capacity % segmentAmount ? 1 : 0));
+        }
+    }
+
+    //high bits of the mixed hash, as the maps of the segments index by the low bits
+    private Segment segmentOf(Genome genome) {
+        if (segmentBits == 0) {
+            return segments[0];
+        }
+        return segments[(genome.hashCode() * 0x9E3779B9) >>> (Integer.SIZE - segmentBits)];
+    }
+
+    /**
+     * Result of the genome or null, if it isn't cached.
+     */
+    public Result get(Genome genome) {
+        Segment segment = segmentOf(genome);
+        Result result;
+        synchronized (segment) {
+            result = segment.get(genome);
+        }
+
+        if (result == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+
+    public void put(Genome genome, double fitness, int contacts, int directContacts, int overlaps) {
+        Genome key = genome.copy(); //genomes get mutated in place -> keep a copy as key
+        Result result = new Result(fitness, contacts, directContacts, overlaps);
+
+        Segment segment = segmentOf(key);
+        synchronized (segment) {
+            segment.put(key, result);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSegmentAmount() {
+        return segments.length;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private class Segment extends LinkedHashMap<Genome, Result> {
+
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Genome, Result> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    public static class Result {
+
+        private final double fitness;
+        private final int contacts;
+        private final int directContacts;
+        private final int overlaps;
+
+        private Result(double fitness, int contacts, int directContacts, int overlaps) {
+            this.fitness = fitness;
+            this.contacts = contacts;
+            this.directContacts = directContacts;
+            this.overlaps = overlaps;
+        }
+
+        public double getFitness() {
+            return fitness;
+        }
+
+        public int getContacts() {
+            return contacts;
+        }
+
+        public int getDirectContacts() {
+            return directContacts;
+        }
+
+        public int getOverlaps() {
+            return overlaps;
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package org.hda.gaf.algorithm.evaluation;
 
 import org.hda.gaf.algorithm.Population;
-import org.hda.gaf.algorithm.evaluation.direction.RelativeDirection;
+import org.hda.gaf.algorithm.PopulationStore;
+import org.hda.gaf.algorithm.WorkerPool;
 import org.hda.gaf.algorithm.evaluation.node.Structure;
+import org.hda.gaf.algorithm.genome.Genome;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -12,28 +13,211 @@ import java.util.List;
  */
 public class FitnessCalculator {
 
-    private FoldingStructureBuilder foldingStructureBuilder;
-    private FoldingAnalyzer foldingAnalyzer;
+    private final String primarySequence;
+    private boolean usesFoldingKernel;
+    private WorkerPool workerPool = WorkerPool.CALLING_THREAD;
+    private boolean skipsUnchangedGenomes;
+    private FitnessCache fitnessCache;
+    private FoldCheckpoints foldCheckpoints;
+
+    //builders and kernels keep state of the current genome -> one per thread
+    private final ThreadLocal<FoldingStructureBuilder> foldingStructureBuilder;
+    private final ThreadLocal<FoldingAnalyzer> foldingAnalyzer;
+    private final ThreadLocal<FoldingKernel> foldingKernel;
+
+    private int skippedEvaluations;
 
     public FitnessCalculator(String primarySequence) {
-        this.foldingStructureBuilder = new FoldingStructureBuilder(primarySequence);
-        this.foldingAnalyzer = new FoldingAnalyzer();
+        this.primarySequence = primarySequence;
+
+        this.foldingStructureBuilder = ThreadLocal.withInitial(() -> new FoldingStructureBuilder(primarySequence));
+        this.foldingAnalyzer = ThreadLocal.withInitial(FoldingAnalyzer::new);
+        this.foldingKernel = ThreadLocal.withInitial(() -> new FoldingKernel(primarySequence));
+    }
+
+    public FitnessCalculator usesFoldingKernel(boolean usesFoldingKernel) {
+        this.usesFoldingKernel = usesFoldingKernel;
+        return this;
+    }
+
+    public FitnessCalculator usesWorkers(WorkerPool workerPool) {
+        this.workerPool = workerPool;
+        return this;
+    }
+
+    /**
+     * Lets genomes that weren't changed since their last evaluation take over the results of their origin instead of being folded again.
+     */
+    public FitnessCalculator skipsUnchangedGenomes(boolean skipsUnchangedGenomes) {
+        this.skipsUnchangedGenomes = skipsUnchangedGenomes;
+        return this;
+    }
+
+    /**
+     * Keeps the results of up to cacheSize genomes, so genomes seen again aren't folded again. A size below 1 disables the cache.
+     */
+    public FitnessCalculator cachesFitness(int cacheSize) {
+        this.fitnessCache = cacheSize > 0 ? new FitnessCache(cacheSize) : null;
+        return this;
+    }
+
+    /**
+     * Lets offspring resume folding behind the genes they share with their origin, using checkpoints every interval residues.
+     * Only applies when evaluating with the folding kernel. An interval below 1 disables sharing.
+     */
+    public FitnessCalculator sharesFoldPrefixes(int checkpointInterval) {
+        this.foldCheckpoints = checkpointInterval > 0 ? new FoldCheckpoints(primarySequence.length(), checkpointInterval) : null;
+        return this;
+    }
+
+    public boolean evaluates(String primarySequence) {
+        return this.primarySequence.equals(primarySequence);
     }
 
     public Population calculateFitnessOfPopulation(Population population) {
-        population.setStructures(new ArrayList<>());
+        List<Genome> genepool = population.getGenepool();
+        PopulationStore store = population.getStore();
+        startGeneration(store, genepool.size());
 
-        for (List<RelativeDirection> gensOfSingleProtein : population.getGenepool()) {
-            Structure structure = buildStructureWithFitness(gensOfSingleProtein);
-            population.addStructure(structure);
+        skippedEvaluations = workerPool.performInChunks(genepool.size(),
+                (from, to) -> () -> calculateRange(genepool, store, from, to), "Evaluation of population")
+                .stream().mapToInt(Integer::intValue).sum();
+
+        for (int i = 0; i < genepool.size(); i++) {
+            genepool.get(i).evaluatedAt(i);
         }
         return population;
     }
 
-    private Structure buildStructureWithFitness(List<RelativeDirection> relativeDirections) {
-        Structure structure = foldingStructureBuilder.buildStructure(relativeDirections);
+    /**
+     * Keeps the results of the last generation aside, so a new generation of the given size can be evaluated range by range.
+     */
+    public void startGeneration(PopulationStore store, int size) {
+        store.startGeneration(size);
+
+        if (sharesFoldPrefixes()) {
+            foldCheckpoints.startGeneration(size);
+        }
+    }
+
+    /**
+     * Evaluates the genomes from index from to index to (exclusive) of a started generation.
+     * Ranges must not overlap, but may be evaluated on different threads.
+     *
+     * @return amount of genomes that took over the results of their origin
+     */
+    public int calculateFitnessOfRange(List<Genome> genepool, PopulationStore store, int from, int to) {
+        int skippedEvaluations = calculateRange(genepool, store, from, to);
+
+        for (int i = from; i < to; i++) {
+            genepool.get(i).evaluatedAt(i);
+        }
+        return skippedEvaluations;
+    }
+
+    //every index is written by exactly one chunk -> results end up in genepool order
+    private int calculateRange(List<Genome> genepool, PopulationStore store, int from, int to) {
+        int skippedEvaluations = 0;
+
+        for (int i = from; i < to; i++) {
+            Genome genome = genepool.get(i);
+
+            if (skipsUnchangedGenomes && genome.isUnchanged() && store.hasPreviousResult(genome.getOrigin())) {
+                recordPreviousResult(store, i, genome.getOrigin());
+                skippedEvaluations++;
+            } else if (fitnessCache != null && recordCachedResult(store, i, genome)) {
+                if (sharesFoldPrefixes()) {
+                    foldCheckpoints.setEvaluated(i, false); //fold is unknown -> descendants fold from the start
+                }
+            } else {
+                evaluate(store, i, genome, sharesFoldPrefixes());
+            }
+        }
+        return skippedEvaluations;
+    }
+
+    /**
+     * Evaluates a single genome into the given index of the store, folding it from the start without touching the fold checkpoints.
+     */
+    public void calculateFitnessOfGenome(Genome genome, PopulationStore store, int index) {
+        if (fitnessCache == null || !recordCachedResult(store, index, genome)) {
+            evaluate(store, index, genome, false);
+        }
+    }
+
+    /**
+     * Drops the saved fold of the individual at the given index, e.g. because it was replaced in place.
+     */
+    public void forgetFold(int index) {
+        if (sharesFoldPrefixes()) {
+            foldCheckpoints.setEvaluated(index, false);
+        }
+    }
+
+    private void evaluate(PopulationStore store, int index, Genome genome, boolean resumesFold) {
+        if (usesFoldingKernel) {
+            recordWithFoldingKernel(store, index, genome, resumesFold);
+        } else {
+            Structure structure = buildStructureWithFitness(genome);
+            store.record(index, structure);
+        }
+
+        if (fitnessCache != null) {
+            fitnessCache.put(genome, store.getFitness()[index], store.getContacts()[index], store.getDirectContacts()[index],
+                    store.getOverlaps()[index]);
+        }
+    }
+
+    private boolean recordCachedResult(PopulationStore store, int index, Genome genome) {
+        FitnessCache.Result result = fitnessCache.get(genome);
+        if (result == null) {
+            return false;
+        }
+
+        store.record(index, result.getFitness(), result.getContacts(), result.getDirectContacts(), result.getOverlaps());
+        return true;
+    }
+
+    private void recordPreviousResult(PopulationStore store, int index, int origin) {
+        store.recordPreviousResult(index, origin);
+        if (sharesFoldPrefixes()) {
+            foldCheckpoints.copyFold(origin, index);
+        }
+    }
+
+    private boolean sharesFoldPrefixes() {
+        return usesFoldingKernel && foldCheckpoints != null;
+    }
+
+    private void recordWithFoldingKernel(PopulationStore store, int index, Genome genome, boolean resumesFold) {
+        FoldingKernel foldingKernel = this.foldingKernel.get();
+        if (resumesFold) {
+            foldingKernel.evaluate(genome, foldCheckpoints, index);
+        } else {
+            foldingKernel.evaluate(genome);
+        }
+
+        double fitness = FoldingAnalyzer.calculateTotalFitness(foldingKernel);
+
+        store.record(index, fitness, foldingKernel.getNeighborCounter(), foldingKernel.getDirectNeighborCounter(),
+                foldingKernel.getOverlapCounter());
+    }
+
+    /**
+     * Amount of genomes in the last evaluated generation that took over the results of their origin.
+     */
+    public int getSkippedEvaluations() {
+        return skippedEvaluations;
+    }
+
+    public FitnessCache getFitnessCache() {
+        return fitnessCache;
+    }
+
+    public Structure buildStructureWithFitness(Genome genome) {
+        Structure structure = foldingStructureBuilder.get().buildStructure(genome);
 
-        double fitness = foldingAnalyzer.calculateTotalFitness(structure);
+        double fitness = foldingAnalyzer.get().calculateTotalFitness(structure);
 
         structure.setAbsoluteFitness(fitness);
 
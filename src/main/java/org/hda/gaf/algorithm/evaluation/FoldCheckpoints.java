@@ -0,0 +1,140 @@
+package org.hda.gaf.algorithm.evaluation;
+
+/**
+ * Folds of the last two evaluated generations, kept so offspring can resume folding behind the prefix they share with their origin.
+ * Per individual it stores the lattice cell and the hydrophob neighbors of every residue
+ * and the counters after every {@code interval} placed residues.
+ * Rows are allocated once per index and reused when the generations are swapped.
+ */
+public class FoldCheckpoints {
+
+    private static final int OVERLAPS = 0;
+    private static final int NEIGHBORS = 1;
+    private static final int DIRECT_NEIGHBORS = 2;
+    private static final int COUNTERS_PER_CHECKPOINT = 3;
+
+    private final int residueAmount;
+    private final int interval;
+
+    private Generation current = new Generation();
+    private Generation previous = new Generation();
+
+    public FoldCheckpoints(int residueAmount, int interval) {
+        this.residueAmount = residueAmount;
+        this.interval = interval;
+    }
+
+    /**
+     * Makes the last evaluated generation the one to resume from. Must be called before evaluating a new generation.
+     */
+    public void startGeneration(int populationSize) {
+        Generation swap = previous;
+        previous = current;
+        current = swap;
+
+        current.prepare(populationSize, residueAmount, residueAmount / interval);
+    }
+
+    /**
+     * Amount of leading residues that can be restored from the origin, always a multiple of the interval.
+     */
+    public int getResumableResidues(int origin, int firstDirtyGene) {
+        if (origin < 0 || origin >= previous.size || !previous.evaluated[origin]) {
+            return 0;
+        }
+        int unchangedResidues = Math.min(firstDirtyGene + 1, residueAmount);
+        return (unchangedResidues / interval) * interval;
+    }
+
+    public int[] getCells(int origin) {
+        return previous.cells[origin];
+    }
+
+    public int[] getNeighbors(int origin) {
+        return previous.neighbors[origin];
+    }
+
+    public int getOverlaps(int origin, int placedResidues) {
+        return previous.counters[origin][counterOffset(placedResidues) + OVERLAPS];
+    }
+
+    public int getNeighborCounter(int origin, int placedResidues) {
+        return previous.counters[origin][counterOffset(placedResidues) + NEIGHBORS];
+    }
+
+    public int getDirectNeighborCounter(int origin, int placedResidues) {
+        return previous.counters[origin][counterOffset(placedResidues) + DIRECT_NEIGHBORS];
+    }
+
+    public int[] getCellsToSave(int index) {
+        return current.cells[index];
+    }
+
+    public int[] getNeighborsToSave(int index) {
+        return current.neighbors[index];
+    }
+
+    public boolean isCheckpoint(int placedResidues) {
+        return placedResidues % interval == 0;
+    }
+
+    public void saveCounters(int index, int placedResidues, int overlaps, int neighbors, int directNeighbors) {
+        int offset = counterOffset(placedResidues);
+        int[] counters = current.counters[index];
+        counters[offset + OVERLAPS] = overlaps;
+        counters[offset + NEIGHBORS] = neighbors;
+        counters[offset + DIRECT_NEIGHBORS] = directNeighbors;
+    }
+
+    public void copyCounters(int origin, int index, int placedResidues) {
+        System.arraycopy(previous.counters[origin], 0, current.counters[index], 0, counterOffset(placedResidues) + COUNTERS_PER_CHECKPOINT);
+    }
+
+    /**
+     * Takes over the whole fold of the origin for an individual that wasn't changed since.
+     */
+    public void copyFold(int origin, int index) {
+        current.evaluated[index] = origin < previous.size && previous.evaluated[origin];
+        if (current.evaluated[index]) {
+            System.arraycopy(previous.cells[origin], 0, current.cells[index], 0, residueAmount);
+            System.arraycopy(previous.neighbors[origin], 0, current.neighbors[index], 0, residueAmount);
+            System.arraycopy(previous.counters[origin], 0, current.counters[index], 0, current.counters[index].length);
+        }
+    }
+
+    public void setEvaluated(int index, boolean evaluated) {
+        current.evaluated[index] = evaluated;
+    }
+
+    private int counterOffset(int placedResidues) {
+        return (placedResidues / interval - 1) * COUNTERS_PER_CHECKPOINT;
+    }
+
+    private static class Generation {
+
+        private int size;
+        private boolean[] evaluated = new boolean[0];
+        private int[][] cells = new int[0][];
+        private int[][] neighbors = new int[0][];
+        private int[][] counters = new int[0][];
+
+        private void prepare(int populationSize, int residueAmount, int checkpointAmount) {
+            if (populationSize > cells.length) {
+                evaluated = new boolean[populationSize];
+                cells = grow(cells, populationSize, residueAmount);
+                neighbors = grow(neighbors, populationSize, residueAmount);
+                counters = grow(counters, populationSize, checkpointAmount * COUNTERS_PER_CHECKPOINT);
+            }
+            size = populationSize;
+        }
+
+        private static int[][] grow(int[][] rows, int populationSize, int rowLength) {
+            int[][] grownRows = new int[populationSize][];
+            System.arraycopy(rows, 0, grownRows, 0, rows.length);
+            for (int i = rows.length; i < populationSize; i++) {
+                grownRows[i] = new int[rowLength];
+            }
+            return grownRows;
+        }
+    }
+}
@@ -12,6 +12,8 @@ public class FoldingAnalyzer {
     private Integer neighborCount;
     private Integer directNeighborCount;
 
+    private Lattice lattice;
+
     public FoldingAnalyzer() {
         neighborCount = 0;
         directNeighborCount = 0;
@@ -21,19 +23,32 @@ public class FoldingAnalyzer {
         if (structure.isValid()) {
             analyzeFolding(structure);
 
-            int selectivePressure = 3;
-            double bonus = ((double) 1 + (double) structure.getValidNeighborCount());
-            double malus = ((double) 1 + (double) structure.getOverlappCounter());
-            double expMalus = (double) Math.pow(malus, 3);
+            return calculateTotalFitness(structure.getValidNeighborCount(), structure.getOverlappCounter());
+        }
+        return 0F;
+    }
 
-            double totalFitness = bonus / expMalus;
-            totalFitness = Math.pow(totalFitness, selectivePressure);
-            return totalFitness;
+    public static double calculateTotalFitness(FoldingKernel foldingKernel) {
+        if (foldingKernel.isValid()) {
+            return calculateTotalFitness(foldingKernel.getValidNeighborCount(), foldingKernel.getOverlapCounter());
         }
         return 0F;
     }
 
+    private static double calculateTotalFitness(int validNeighborCount, int overlapCounter) {
+        int selectivePressure = 3;
+        double bonus = ((double) 1 + (double) validNeighborCount);
+        double malus = ((double) 1 + (double) overlapCounter);
+        double expMalus = (double) Math.pow(malus, 3);
+
+        double totalFitness = bonus / expMalus;
+        totalFitness = Math.pow(totalFitness, selectivePressure);
+        return totalFitness;
+    }
+
     private void analyzeFolding(Structure structure) {
+        placeOnLattice(structure);
+
         neighborCount = countNeighbors(structure);
         directNeighborCount = countDirectNeighbors(structure);
 
@@ -41,11 +56,26 @@ public class FoldingAnalyzer {
         structure.setDirectNeighborCounter(directNeighborCount);
     }
 
-    public int countNeighbors(Structure structure) {
-        return new HydrophobNeighborsCounter(structure.getNodes()).countHydrophobNeighbors(structure.getStartNode());
+    //replays the fold on a reused lattice instead of building the node grid of every structure
+    private void placeOnLattice(Structure structure) {
+        int residueAmount = structure.getXs().length;
+        if (lattice == null || lattice.getLength() != structure.getLength()) {
+            lattice = Lattice.forResidues(residueAmount);
+        }
+        lattice.clear();
+
+        for (int i = 0; i < residueAmount; i++) {
+            lattice.put(structure.getXs()[i], structure.getYs()[i], i, structure.getHydrophob()[i]);
+        }
+    }
+
+    private int countNeighbors(Structure structure) {
+        return HydrophobNeighborsCounter.countHydrophobNeighbors(lattice, structure.getXs(), structure.getYs(),
+                structure.getHydrophob(), structure.getXs().length);
     }
 
-    public int countDirectNeighbors(Structure structure) {
-        return new DirectHydrophobNeighborsCounter().countDirectNeighbors(structure.getStartNode(), structure.getNodes());
+    private int countDirectNeighbors(Structure structure) {
+        return DirectHydrophobNeighborsCounter.countDirectNeighbors(lattice, structure.getXs(), structure.getYs(),
+                structure.getHydrophob(), structure.getXs().length);
     }
 }
@@ -0,0 +1,284 @@
+package org.hda.gaf.algorithm.evaluation;
+
+import org.hda.gaf.algorithm.genome.Genome;
+
+/**
+ * Folds and scores genomes in a single pass over primitive arrays on a reusable {@link Lattice}.
+ * Gives the same counters as {@link FoldingStructureBuilder} and {@link FoldingAnalyzer} without allocating per genome.
+ * An instance must only be used by one thread at a time.
+ */
+public class FoldingKernel {
+
+    private static final int LEFT = 0;
+    private static final int RIGHT = 1;
+
+    private final int residueAmount;
+    private final boolean[] hydrophob;
+    private final Lattice lattice;
+
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] neighborsOfResidue;
+
+    //position of the last placed residue and the move that led there
+    private int x;
+    private int y;
+    private int xMove;
+    private int yMove;
+
+    private boolean valid;
+    private int overlapCounter;
+    private int neighborCounter;
+    private int directNeighborCounter;
+
+    public FoldingKernel(String primarySequence) {
+        this(primarySequence, Lattice.forResidues(primarySequence.length()));
+    }
+
+    public FoldingKernel(String primarySequence, Lattice lattice) {
+        this.residueAmount = primarySequence.length();
+        this.hydrophob = new boolean[residueAmount];
+        for (int i = 0; i < residueAmount; i++) {
+            hydrophob[i] = primarySequence.charAt(i) == '1';
+        }
+
+        this.lattice = lattice;
+        this.xs = new int[residueAmount];
+        this.ys = new int[residueAmount];
+        this.neighborsOfResidue = new int[residueAmount];
+    }
+
+    public void evaluate(Genome genome) {
+        if (setup(genome)) {
+            placeStartResidue();
+            foldAndCount(genome, 1, null, 0);
+        }
+    }
+
+    /**
+     * Evaluates the genome at the given index, resuming behind the prefix it shares with its origin,
+     * and saves its own fold to the checkpoints for the next generation.
+     */
+    public void evaluate(Genome genome, FoldCheckpoints foldCheckpoints, int index) {
+        boolean validInputs = setup(genome);
+        foldCheckpoints.setEvaluated(index, validInputs);
+
+        if (validInputs) {
+            int origin = genome.getOrigin();
+            int placedResidues = foldCheckpoints.getResumableResidues(origin, genome.getFirstDirtyGene());
+
+            if (placedResidues > 0) {
+                restorePrefix(foldCheckpoints, origin, index, placedResidues);
+            } else {
+                placeStartResidue();
+                placedResidues = 1;
+                saveCheckpoint(foldCheckpoints, index, placedResidues);
+            }
+
+            foldAndCount(genome, placedResidues, foldCheckpoints, index);
+            savePositions(foldCheckpoints, index);
+        }
+    }
+
+    private boolean setup(Genome genome) {
+        overlapCounter = 0;
+        neighborCounter = 0;
+        directNeighborCounter = 0;
+        valid = hasValidInputs(genome);
+
+        lattice.clear();
+        return valid;
+    }
+
+    private boolean hasValidInputs(Genome genome) {
+        return residueAmount > 0 && genome != null && genome.size() != 0 && genome.size() == residueAmount - 1;
+    }
+
+    private void placeStartResidue() {
+        int length = lattice.getLength();
+        x = (length / 2) - 1;
+        y = length / 2;
+        xMove = 1; //first move in x direction
+        yMove = 0;
+
+        place(0, x, y, length);
+    }
+
+    /**
+     * Replays the placement of the origin's first residues and takes over its counters at that checkpoint.
+     */
+    private void restorePrefix(FoldCheckpoints foldCheckpoints, int origin, int index, int placedResidues) {
+        int length = lattice.getLength();
+        int[] cells = foldCheckpoints.getCells(origin);
+
+        System.arraycopy(foldCheckpoints.getNeighbors(origin), 0, neighborsOfResidue, 0, placedResidues);
+        for (int i = 0; i < placedResidues; i++) {
+            xs[i] = cells[i] / length;
+            ys[i] = cells[i] % length;
+            lattice.put(xs[i], ys[i], i, hydrophob[i]);
+        }
+
+        overlapCounter = foldCheckpoints.getOverlaps(origin, placedResidues);
+        neighborCounter = foldCheckpoints.getNeighborCounter(origin, placedResidues);
+        directNeighborCounter = foldCheckpoints.getDirectNeighborCounter(origin, placedResidues);
+        foldCheckpoints.copyCounters(origin, index, placedResidues);
+
+        int last = placedResidues - 1;
+        x = xs[last];
+        y = ys[last];
+        if (last == 0) {
+            xMove = 1;
+            yMove = 0;
+        } else {
+            xMove = unwrapMove(xs[last] - xs[last - 1]);
+            yMove = unwrapMove(ys[last] - ys[last - 1]);
+        }
+    }
+
+    private static int unwrapMove(int move) {
+        if (move > 1) {
+            return -1;
+        }
+        if (move < -1) {
+            return 1;
+        }
+        return move;
+    }
+
+    private void savePositions(FoldCheckpoints foldCheckpoints, int index) {
+        int length = lattice.getLength();
+        int[] cells = foldCheckpoints.getCellsToSave(index);
+
+        for (int i = 0; i < residueAmount; i++) {
+            cells[i] = xs[i] * length + ys[i];
+        }
+        System.arraycopy(neighborsOfResidue, 0, foldCheckpoints.getNeighborsToSave(index), 0, residueAmount);
+    }
+
+    private void saveCheckpoint(FoldCheckpoints foldCheckpoints, int index, int placedResidues) {
+        if (foldCheckpoints != null && foldCheckpoints.isCheckpoint(placedResidues)) {
+            foldCheckpoints.saveCounters(index, placedResidues, overlapCounter, neighborCounter, directNeighborCounter);
+        }
+    }
+
+    /**
+     * Places residue after residue and keeps the counters of the final fold up to date:
+     * a new residue gets the hydrophob residues already lying next to it as neighbors,
+     * a residue that gets overridden loses its neighbors and its direct neighbors, as it isn't displayed anymore.
+     */
+    private void foldAndCount(Genome genome, int firstResidue, FoldCheckpoints foldCheckpoints, int index) {
+        int length = lattice.getLength();
+
+        for (int i = firstResidue; i < residueAmount; i++) {
+            int code = genome.getCode(i - 1);
+            int previousXMove = xMove;
+
+            if (code == LEFT) {
+                xMove = -yMove;
+                yMove = previousXMove;
+            } else if (code == RIGHT) {
+                xMove = yMove;
+                yMove = -previousXMove;
+            }
+
+            x = wrap(x + xMove, length);
+            y = wrap(y + yMove, length);
+
+            place(i, x, y, length);
+            saveCheckpoint(foldCheckpoints, index, i + 1);
+        }
+    }
+
+    private void place(int residue, int x, int y, int length) {
+        int overriddenResidue = lattice.get(x, y);
+        if (overriddenResidue != Lattice.EMPTY) {
+            overlapCounter++;
+            removeOverriddenResidue(overriddenResidue);
+        }
+
+        int neighbors = 0;
+        if (hydrophob[residue]) {
+            neighbors = lattice.getHydrophobAmount(wrap(x + 1, length), y)
+                    + lattice.getHydrophobAmount(wrap(x - 1, length), y)
+                    + lattice.getHydrophobAmount(x, wrap(y - 1, length))
+                    + lattice.getHydrophobAmount(x, wrap(y + 1, length));
+
+            if (residue > 0 && hydrophob[residue - 1]) {
+                directNeighborCounter++;
+            }
+        }
+        neighborsOfResidue[residue] = neighbors;
+        neighborCounter += neighbors;
+
+        xs[residue] = x;
+        ys[residue] = y;
+        lattice.put(x, y, residue, hydrophob[residue]);
+    }
+
+    private void removeOverriddenResidue(int residue) {
+        neighborCounter -= neighborsOfResidue[residue];
+
+        if (hydrophob[residue]) {
+            if (residue > 0 && hydrophob[residue - 1] && isDisplayed(residue - 1)) {
+                directNeighborCounter--;
+            }
+            if (hydrophob[residue + 1] && isDisplayed(residue + 1)) { //overriding takes at least 4 moves, so the successor is already placed
+                directNeighborCounter--;
+            }
+        }
+    }
+
+    private boolean isDisplayed(int residue) {
+        return lattice.get(xs[residue], ys[residue]) == residue;
+    }
+
+    private static int wrap(int coordinate, int length) {
+        if (coordinate == length) {
+            return 0;
+        }
+        if (coordinate < 0) {
+            return length - 1;
+        }
+        return coordinate;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public int getOverlapCounter() {
+        return overlapCounter;
+    }
+
+    public int getNeighborCounter() {
+        return neighborCounter;
+    }
+
+    public int getDirectNeighborCounter() {
+        return directNeighborCounter;
+    }
+
+    public int getValidNeighborCount() {
+        return neighborCounter - directNeighborCounter;
+    }
+
+    public Lattice getLattice() {
+        return lattice;
+    }
+
+    public int[] getXs() {
+        return xs;
+    }
+
+    public int[] getYs() {
+        return ys;
+    }
+
+    public boolean[] getHydrophob() {
+        return hydrophob;
+    }
+
+    public int getResidueAmount() {
+        return residueAmount;
+    }
+}
@@ -1,12 +1,8 @@
 package org.hda.gaf.algorithm.evaluation;
 
 import org.hda.gaf.algorithm.evaluation.direction.Move;
-import org.hda.gaf.algorithm.evaluation.direction.RelativeDirection;
-import org.hda.gaf.algorithm.evaluation.node.Node;
-import org.hda.gaf.algorithm.evaluation.node.Position;
 import org.hda.gaf.algorithm.evaluation.node.Structure;
-
-import java.util.List;
+import org.hda.gaf.algorithm.genome.Genome;
 
 /**
  * Created by marcus on 19.04.16.
@@ -14,72 +10,66 @@ import java.util.List;
 public class FoldingStructureBuilder {
 
     private String primarySequence;
-    private List<RelativeDirection> relativeDirections;
-    private Node[][] nodeStructure;
+    private Genome genome;
+    private boolean[] hydrophob;
+    private Lattice lattice;
 
     private Structure structure;
 
-    private Node startNode;
-    private Node currentNode;
-
     public FoldingStructureBuilder(String primarySequence) {
         this.primarySequence = primarySequence;
     }
 
-    public Structure buildStructure(List<RelativeDirection> relativeDirections) {
-        setupAttributes(relativeDirections);
+    public Structure buildStructure(Genome genome) {
+        setupAttributes(genome);
 
         if (hasValidInputs()) {
             structure.setValid(false);
             return structure;
         }
 
-        return buildNodeStructure();
+        return buildPositions();
     }
 
-    private void setupAttributes(List<RelativeDirection> relativeDirections) {
+    private void setupAttributes(Genome genome) {
         this.structure = new Structure();
-        structure.setRelativeDirections(relativeDirections);
-
-        this.relativeDirections = relativeDirections;
-        this.nodeStructure = setupNodeArrays();
-    }
+        structure.setGenome(genome);
 
-    private Node[][] setupNodeArrays() {
-        int arrayLength = primarySequence.length() + 1;
-        return new Node[arrayLength][arrayLength];
+        this.genome = genome;
     }
 
     private boolean hasValidInputs() {
-        return primarySequence == null || primarySequence.length() == 0 || relativeDirections == null || relativeDirections.size() == 0
-                || relativeDirections.size() != primarySequence.length() - 1;
+        return primarySequence == null || primarySequence.length() == 0 || genome == null || genome.size() == 0
+                || genome.size() != primarySequence.length() - 1;
     }
 
-    private Structure buildNodeStructure() {
-        buildStructure();
-
-        addStatusToNodes(startNode);
-
-        structure.setStartNode(startNode);
-        structure.setNodes(nodeStructure);
-
-        return structure;
-    }
+    //lattice and hydrophob residues are the same for every genome -> set up once
+    private void setupLattice() {
+        if (lattice == null) {
+            lattice = Lattice.forResidues(primarySequence.length());
 
-    private void addStatusToNodes(Node startNode) {
-        Node currentNode = startNode;
-        for (int i = 0; i < primarySequence.length(); i++) {
-            char status = primarySequence.charAt(i);
-            currentNode.setHydrophob(status);
-            currentNode = currentNode.getNext();
+            hydrophob = new boolean[primarySequence.length()];
+            for (int i = 0; i < primarySequence.length(); i++) {
+                hydrophob[i] = primarySequence.charAt(i) == '1';
+            }
         }
+        lattice.clear();
     }
 
-    private void buildStructure() {
-        Move move = setupStartNodeAndPrepareMoving();
+    private Structure buildPositions() {
+        setupLattice();
+
+        int residueAmount = primarySequence.length();
+        int[] xs = new int[residueAmount];
+        int[] ys = new int[residueAmount];
+        int[] absoluteXs = new int[residueAmount];
+        int[] absoluteYs = new int[residueAmount];
+
+        Move move = new Move((lattice.getLength() / 2) - 1, lattice.getLength() / 2, lattice.getLength());
+        placeResidue(0, move, xs, ys, absoluteXs, absoluteYs);
 
-        for (int i = 0; i < primarySequence.length() - 1; i++) {
-            switch (relativeDirections.get(i)) {
+        for (int i = 0; i < residueAmount - 1; i++) {
+            switch (genome.get(i)) {
                 case LEFT:
                     move.moveLeft();
                     break;
@@ -91,35 +81,33 @@ public class FoldingStructureBuilder {
                     break;
             }
 
-            if (isOverlapping(nodeStructure[move.getX()][move.getY()])) {
+            if (isOverlapping(move)) {
                 structure.addToOverlappingCounter();
             }
 
-            addNewNodeToNodeStructure(move);
+            placeResidue(i + 1, move, xs, ys, absoluteXs, absoluteYs);
         }
-    }
 
-    private Move setupStartNodeAndPrepareMoving() {
-        startNode = new Node(new Position((nodeStructure.length / 2) - 1, (nodeStructure.length / 2)));
+        structure.setLength(lattice.getLength());
+        structure.setXs(xs);
+        structure.setYs(ys);
+        structure.setAbsoluteXs(absoluteXs);
+        structure.setAbsoluteYs(absoluteYs);
+        structure.setHydrophob(hydrophob);
 
-        return prepareMoving();
+        return structure;
     }
 
-    private Move prepareMoving() {
-        Move move = new Move(startNode.getPosition().getX(), startNode.getPosition().getY(), nodeStructure.length);
-
-        nodeStructure[move.getX()][move.getY()] = startNode;
-        currentNode = startNode;
-        return move;
+    private boolean isOverlapping(Move move) {
+        return lattice.get(move.getX(), move.getY()) != Lattice.EMPTY;
     }
 
-    private boolean isOverlapping(Node node) {
-        return node != null;
-    }
+    private void placeResidue(int residue, Move move, int[] xs, int[] ys, int[] absoluteXs, int[] absoluteYs) {
+        xs[residue] = move.getX();
+        ys[residue] = move.getY();
+        absoluteXs[residue] = move.getXAbsolute();
+        absoluteYs[residue] = move.getYAbsolute();
 
-    private void addNewNodeToNodeStructure(Move move) {
-        currentNode = new Node(currentNode, new Position(move.getX(), move.getY()));
-        currentNode.setAbsolutePosition(new Position(move.getXAbsolute(), move.getYAbsolute()));
-        nodeStructure[move.getX()][move.getY()] = currentNode;
+        lattice.put(move.getX(), move.getY(), residue, hydrophob[residue]);
     }
 }
@@ -0,0 +1,68 @@
+package org.hda.gaf.algorithm.evaluation;
+
+import java.util.Arrays;
+
+/**
+ * Reusable torus grid mapping a position to the last residue placed on it and the amount of hydrophob residues placed there.
+ * Every cell keeps the stamp of the fold it was written in, so clearing the grid is a single increment.
+ */
+public class GridLattice implements Lattice {
+
+    private static final int STAMP = 0;
+    private static final int RESIDUE = 1;
+    private static final int HYDROPHOB_AMOUNT = 2;
+    private static final int INTS_PER_CELL = 3;
+
+    private final int length;
+    private final int[] cells;
+    private int stamp;
+
+    public GridLattice(int length) {
+        this.length = length;
+        this.cells = new int[length * length * INTS_PER_CELL];
+        this.stamp = 1;
+    }
+
+    @Override
+    public void clear() {
+        stamp++;
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(cells, 0);
+            stamp = 1;
+        }
+    }
+
+    @Override
+    public int get(int x, int y) {
+        int cell = cellOf(x, y);
+        return cells[cell + STAMP] == stamp ? cells[cell + RESIDUE] : EMPTY;
+    }
+
+    @Override
+    public int getHydrophobAmount(int x, int y) {
+        int cell = cellOf(x, y);
+        return cells[cell + STAMP] == stamp ? cells[cell + HYDROPHOB_AMOUNT] : 0;
+    }
+
+    @Override
+    public void put(int x, int y, int residue, boolean hydrophob) {
+        int cell = cellOf(x, y);
+        if (cells[cell + STAMP] != stamp) {
+            cells[cell + STAMP] = stamp;
+            cells[cell + HYDROPHOB_AMOUNT] = 0;
+        }
+        cells[cell + RESIDUE] = residue;
+        if (hydrophob) {
+            cells[cell + HYDROPHOB_AMOUNT]++;
+        }
+    }
+
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    private int cellOf(int x, int y) {
+        return (x * length + y) * INTS_PER_CELL;
+    }
+}
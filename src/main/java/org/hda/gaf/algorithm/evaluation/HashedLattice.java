@@ -0,0 +1,94 @@
+package org.hda.gaf.algorithm.evaluation;
+
+import java.util.Arrays;
+
+/**
+ * Lattice keeping only occupied positions in an open addressing hash of packed coordinates, so its memory grows with the residues, not the torus.
+ * Like {@link GridLattice} every slot keeps the stamp of the fold it was written in, so slots of older folds count as free.
+ */
+public class HashedLattice implements Lattice {
+
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final int length;
+    private final int mask;
+    private final int shift;
+
+    private final long[] positions;
+    private final int[] stamps;
+    private final int[] residues;
+    private final int[] hydrophobAmounts;
+    private int stamp;
+
+    public HashedLattice(int length, int maxPositions) {
+        this.length = length;
+
+        int capacity = Integer.highestOneBit(Math.max(2, maxPositions) * 2 - 1) << 1; //load factor of at most 0.5
+        this.mask = capacity - 1;
+        this.shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+
+        this.positions = new long[capacity];
+        this.stamps = new int[capacity];
+        this.residues = new int[capacity];
+        this.hydrophobAmounts = new int[capacity];
+        this.stamp = 1;
+    }
+
+    @Override
+    public void clear() {
+        stamp++;
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+    }
+
+    @Override
+    public int get(int x, int y) {
+        int slot = slotOf(x, y);
+        return stamps[slot] == stamp ? residues[slot] : EMPTY;
+    }
+
+    @Override
+    public int getHydrophobAmount(int x, int y) {
+        int slot = slotOf(x, y);
+        return stamps[slot] == stamp ? hydrophobAmounts[slot] : 0;
+    }
+
+    @Override
+    public void put(int x, int y, int residue, boolean hydrophob) {
+        int slot = slotOf(x, y);
+        if (stamps[slot] != stamp) {
+            stamps[slot] = stamp;
+            positions[slot] = pack(x, y);
+            hydrophobAmounts[slot] = 0;
+        }
+        residues[slot] = residue;
+        if (hydrophob) {
+            hydrophobAmounts[slot]++;
+        }
+    }
+
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Slot holding the position or the free slot it would be put in. Positions are never removed within a fold,
+     * so probing can stop at the first free slot.
+     */
+    private int slotOf(int x, int y) {
+        long position = pack(x, y);
+        int slot = (int) ((position * GOLDEN_RATIO) >>> shift);
+
+        while (stamps[slot] == stamp && positions[slot] != position) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private long pack(int x, int y) {
+        return (long) x * length + y;
+    }
+}
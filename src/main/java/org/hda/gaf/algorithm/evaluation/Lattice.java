@@ -0,0 +1,33 @@
+package org.hda.gaf.algorithm.evaluation;
+
+/**
+ * Torus of the given length mapping a position to the last residue placed on it and the amount of hydrophob residues placed there.
+ * Reused for every fold, so {@link #clear()} must be cheap.
+ */
+public interface Lattice {
+
+    int EMPTY = -1;
+
+    //a grid of more residues needs more than 12 MB per lattice
+    int GRID_MAX_RESIDUES = 1024;
+
+    /**
+     * Lattice for folding the given amount of residues: a full grid for short sequences, a hash of the occupied positions for long ones.
+     */
+    static Lattice forResidues(int residueAmount) {
+        if (residueAmount <= GRID_MAX_RESIDUES) {
+            return new GridLattice(residueAmount + 1);
+        }
+        return new HashedLattice(residueAmount + 1, residueAmount);
+    }
+
+    void clear();
+
+    int get(int x, int y);
+
+    int getHydrophobAmount(int x, int y);
+
+    void put(int x, int y, int residue, boolean hydrophob);
+
+    int getLength();
+}
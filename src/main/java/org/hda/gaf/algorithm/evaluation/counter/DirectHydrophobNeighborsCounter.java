@@ -1,5 +1,6 @@
 package org.hda.gaf.algorithm.evaluation.counter;
 
+import org.hda.gaf.algorithm.evaluation.Lattice;
 import org.hda.gaf.algorithm.evaluation.node.Node;
 
 /**
@@ -28,6 +29,22 @@ public class DirectHydrophobNeighborsCounter {
         return directNeighborCount;
     }
 
+    /**
+     * Same count as {@link #countDirectNeighbors(Node, Node[][])} for a fold kept in coordinate arrays on a lattice.
+     */
+    public static int countDirectNeighbors(Lattice lattice, int[] xs, int[] ys, boolean[] hydrophob, int residueAmount) {
+        int directNeighborCount = 0;
+
+        for (int i = 0; i < residueAmount - 1; i++) {
+            if (hydrophob[i] && hydrophob[i + 1]
+                    && lattice.get(xs[i], ys[i]) == i && lattice.get(xs[i + 1], ys[i + 1]) == i + 1) {
+                directNeighborCount++;
+            }
+        }
+
+        return directNeighborCount;
+    }
+
     private static boolean areDisplayedHydrophobNeighbors(Node[][] nodes, Node currentNode, Node directNeighborNode) {
         return areHydrophobNeighbors(currentNode, directNeighborNode) && areDisplayed(nodes, currentNode, directNeighborNode);
     }
@@ -1,54 +1,83 @@
 package org.hda.gaf.algorithm.evaluation.counter;
 
+import org.hda.gaf.algorithm.PopulationStore;
+import org.hda.gaf.algorithm.WorkerPool;
 import org.hda.gaf.algorithm.evaluation.direction.RelativeDirection;
-import org.hda.gaf.algorithm.evaluation.node.Structure;
+import org.hda.gaf.algorithm.genome.Genome;
 
 import java.util.List;
 
 /**
  * Created by marcus on 05.06.16.
+ * <p>
+ * Counts how often every direction occurs at every gene of the population. A genome differs at a gene from every genome
+ * with another direction there, so its total Hamming distance to all others is the population size times the gene amount
+ * minus the counts of its own directions. That takes two passes over the genepool instead of comparing every pair.
  */
 public class HammingDistanceCounter {
 
-    public List<Structure> calculateHammingDistance(boolean calcHammingDistance, List<Structure> structures) { //todo move/refactor
-        if (calcHammingDistance) {
-            for (int i = 0; i < structures.size() - 1; i++) {
-                Structure firstStructure = structures.get(i);
+    private static final int DIRECTION_AMOUNT = RelativeDirection.values().length;
 
-                for (int j = i + 1; j < structures.size(); j++) {
-                    Structure secondStructure = structures.get(j);
+    private WorkerPool workerPool = WorkerPool.CALLING_THREAD;
 
-                    int hammingDistanceOfStructures = calculateHammingDistanceForStructure(firstStructure, secondStructure);
-                    firstStructure.addToTotalHammingDistance(hammingDistanceOfStructures);
-                    secondStructure.addToTotalHammingDistance(hammingDistanceOfStructures);
-                }
+    public HammingDistanceCounter usesWorkers(WorkerPool workerPool) {
+        this.workerPool = workerPool;
+        return this;
+    }
 
+    public PopulationStore calculateHammingDistance(boolean calcHammingDistance, List<Genome> genepool, PopulationStore store) {
+        if (calcHammingDistance) {
+            int populationAmount = store.getSize();
+            if (populationAmount == 0) {
+                return store;
             }
+            int geneAmount = genepool.get(0).size();
 
-            for (Structure structure : structures) {
-                structure.calculateAverageHammingDistance(structures.size());
+            int[] directionCounts = new int[geneAmount * DIRECTION_AMOUNT];
+
+            for (int[] chunkCounts : workerPool.performInChunks(populationAmount,
+                    (from, to) -> () -> countDirections(genepool, from, to, geneAmount), "Calculation of Hamming distance")) {
+                for (int i = 0; i < directionCounts.length; i++) {
+                    directionCounts[i] += chunkCounts[i];
+                }
             }
+            workerPool.performInChunks(populationAmount, (from, to) -> () -> {
+                calculateTotalDistances(genepool, store, from, to, directionCounts);
+                return null;
+            }, "Calculation of Hamming distance");
         }
 
-        return structures;
+        return store;
     }
 
-    private int calculateHammingDistanceForStructure(Structure firstStructure, Structure secondStructure) {
-        int hammingDistance = 0;
-
-        for (int i = 0; i < firstStructure.getRelativeDirections().size(); i++) {
-            RelativeDirection firstDirection = firstStructure.getRelativeDirections().get(i);
-            RelativeDirection secondDirection = secondStructure.getRelativeDirections().get(i);
-
-            if (areDirectionsDifferent(firstDirection, secondDirection)) {
-                hammingDistance++;
+    private static int[] countDirections(List<Genome> genepool, int from, int to, int geneAmount) {
+        int[] directionCounts = new int[geneAmount * DIRECTION_AMOUNT];
+        for (int i = from; i < to; i++) {
+            Genome genome = genepool.get(i);
+            for (int gene = 0; gene < geneAmount; gene++) {
+                directionCounts[gene * DIRECTION_AMOUNT + genome.getCode(gene)]++;
             }
         }
-
-        return hammingDistance;
+        return directionCounts;
     }
 
-    private boolean areDirectionsDifferent(RelativeDirection firstDirection, RelativeDirection secondDirection) {
-        return !firstDirection.equals(secondDirection);
+    private static void calculateTotalDistances(List<Genome> genepool, PopulationStore store, int from, int to, int[] directionCounts) {
+        int populationAmount = store.getSize();
+        double[] totalHamming = store.getTotalHamming();
+        double[] hamming = store.getHamming();
+
+        for (int i = from; i < to; i++) {
+            Genome genome = genepool.get(i);
+
+            long sameDirections = 0;
+            for (int gene = 0; gene < genome.size(); gene++) {
+                sameDirections += directionCounts[gene * DIRECTION_AMOUNT + genome.getCode(gene)];
+            }
+
+            totalHamming[i] = (long) populationAmount * genome.size() - sameDirections;
+            if (populationAmount > 1) {
+                hamming[i] = totalHamming[i] / ((float) populationAmount - 1);
+            }
+        }
     }
 }
@@ -1,5 +1,6 @@
 package org.hda.gaf.algorithm.evaluation.counter;
 
+import org.hda.gaf.algorithm.evaluation.Lattice;
 import org.hda.gaf.algorithm.evaluation.Torus;
 import org.hda.gaf.algorithm.evaluation.node.Node;
 
@@ -22,6 +23,36 @@ public class HydrophobNeighborsCounter {
         this.torus = new Torus(nodes.length);
     }
 
+    /**
+     * Same count as {@link #countHydrophobNeighbors(Node)} for a fold kept in coordinate arrays on a lattice.
+     */
+    public static int countHydrophobNeighbors(Lattice lattice, int[] xs, int[] ys, boolean[] hydrophob, int residueAmount) {
+        int length = lattice.getLength();
+        int hydrophobNeighborCount = 0;
+
+        for (int i = 0; i < residueAmount; i++) {
+            if (hydrophob[i]) {
+                int x = xs[i];
+                int y = ys[i];
+                int left = x == 0 ? length - 1 : x - 1;
+                int right = x == length - 1 ? 0 : x + 1;
+                int down = y == 0 ? length - 1 : y - 1;
+                int up = y == length - 1 ? 0 : y + 1;
+
+                hydrophobNeighborCount += countIfHydrophobNeighbor(i, lattice.get(right, y), hydrophob);
+                hydrophobNeighborCount += countIfHydrophobNeighbor(i, lattice.get(left, y), hydrophob);
+                hydrophobNeighborCount += countIfHydrophobNeighbor(i, lattice.get(x, down), hydrophob);
+                hydrophobNeighborCount += countIfHydrophobNeighbor(i, lattice.get(x, up), hydrophob);
+            }
+        }
+
+        return hydrophobNeighborCount;
+    }
+
+    private static int countIfHydrophobNeighbor(int residue, int neighbor, boolean[] hydrophob) {
+        return neighbor != Lattice.EMPTY && hydrophob[neighbor] && residue < neighbor ? 1 : 0;
+    }
+
     public int countHydrophobNeighbors(Node startNode) {
         hydrophobNeighborCount = 0;
         Node currentNode = startNode;
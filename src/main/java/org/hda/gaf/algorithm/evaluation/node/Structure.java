@@ -1,16 +1,21 @@
 package org.hda.gaf.algorithm.evaluation.node;
 
-import org.hda.gaf.algorithm.evaluation.direction.RelativeDirection;
+import org.hda.gaf.algorithm.genome.Genome;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
-
-import java.util.List;
+import lombok.ToString;
 
 /**
  * Created by marcus on 03.05.16.
+ * <p>
+ * Keeps the fold only as primitive coordinates. Nodes and the node grid are built from them when asked for,
+ * e.g. to paint the protein, so evaluated structures don't keep a grid of the whole torus alive.
  */
 @Data
 @NoArgsConstructor
+@EqualsAndHashCode(exclude = "startNode")
+@ToString(exclude = "startNode")
 public class Structure {
 
     private boolean valid = true;
@@ -22,10 +27,16 @@ public class Structure {
     private double absoluteFitness = 0;
     private double relativeFitness = 0;
 
+    private int length;
+    private int[] xs;
+    private int[] ys;
+    private int[] absoluteXs;
+    private int[] absoluteYs;
+    private boolean[] hydrophob;
+
     private Node startNode;
-    private Node[][] nodes;
 
-    private List<RelativeDirection> relativeDirections;
+    private Genome genome;
 
     public void addToOverlappingCounter() {
         ++overlappCounter;
@@ -44,4 +55,41 @@ public class Structure {
             averageHammingDistance = totalHammingDistance / ((float) populationAmount - 1);
         }
     }
+
+    public boolean hasPositions() {
+        return xs != null;
+    }
+
+    /**
+     * Links the residues as nodes on first call.
+     */
+    public Node getStartNode() {
+        if (startNode == null && hasPositions()) {
+            startNode = new Node(new Position(xs[0], ys[0]));
+            startNode.setHydrophob(hydrophob[0] ? '1' : '0');
+
+            Node currentNode = startNode;
+            for (int i = 1; i < xs.length; i++) {
+                currentNode = new Node(currentNode, new Position(xs[i], ys[i]));
+                currentNode.setAbsolutePosition(new Position(absoluteXs[i], absoluteYs[i]));
+                currentNode.setHydrophob(hydrophob[i] ? '1' : '0');
+            }
+        }
+        return startNode;
+    }
+
+    /**
+     * Builds a new grid of the torus holding the last node placed on every position.
+     */
+    public Node[][] getNodes() {
+        if (!hasPositions()) {
+            return null;
+        }
+
+        Node[][] nodes = new Node[length][length];
+        for (Node node = getStartNode(); node != null; node = node.getNext()) {
+            nodes[node.getPosition().getX()][node.getPosition().getY()] = node;
+        }
+        return nodes;
+    }
 }
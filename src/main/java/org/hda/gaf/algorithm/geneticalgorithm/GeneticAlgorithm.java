@@ -1,10 +1,27 @@
 package org.hda.gaf.algorithm.geneticalgorithm;
 
 import lombok.NoArgsConstructor;
+import org.hda.gaf.algorithm.GenerationPipeline;
 import org.hda.gaf.algorithm.Population;
 import org.hda.gaf.algorithm.PopulationGenerator;
+import org.hda.gaf.algorithm.PopulationStore;
+import org.hda.gaf.algorithm.StatisticAccumulator;
+import org.hda.gaf.algorithm.WorkerPool;
+import org.hda.gaf.algorithm.crossover.CrossoverAlgorithm;
+import org.hda.gaf.algorithm.evaluation.FitnessCalculator;
+import org.hda.gaf.algorithm.evaluation.counter.HammingDistanceCounter;
+import org.hda.gaf.algorithm.genome.Genome;
+import org.hda.gaf.algorithm.monitoring.FlightRecorder;
+import org.hda.gaf.algorithm.monitoring.GenerationRecord;
+import org.hda.gaf.algorithm.monitoring.GeneticAlgorithmMonitor;
 import org.hda.gaf.algorithm.output.GraphicOutput;
 import org.hda.gaf.algorithm.selectionalgorithm.SelectionAlgorithm;
+import org.hda.gaf.algorithm.timing.Phase;
+import org.hda.gaf.algorithm.timing.PhaseTimers;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 /**
  * Created by marcus on 08.05.16.
@@ -21,8 +38,15 @@ public abstract class GeneticAlgorithm {
 
     protected float mutationRate;
     protected float crossoverRate;
+    protected CrossoverAlgorithm.Type crossoverType = CrossoverAlgorithm.Type.SINGLE_POINT;
 
     protected boolean calculateHammingDistance;
+    protected boolean usesFoldingKernel;
+    protected int evaluationThreads = 1;
+    protected int foldCheckpointInterval;
+    protected boolean skipsUnchangedGenomes;
+    protected int fitnessCacheSize;
+    protected boolean pipelinesGenerations;
 
     protected int currentGeneration;
     protected int totalGeneration;
@@ -30,7 +54,15 @@ public abstract class GeneticAlgorithm {
     protected boolean printWhileGenerating;
 
     private GraphicOutput frame;
+    private WorkerPool workerPool;
     private SelectionAlgorithm selectionAlgorithm;
+    private FitnessCalculator fitnessCalculator;
+    private GenerationPipeline generationPipeline;
+    private HammingDistanceCounter hammingDistanceCounter;
+    private GeneticAlgorithmMonitor monitor;
+    protected final PhaseTimers phaseTimers = new PhaseTimers();
+    private Migration migration;
+    private SplittableRandom migrationRandom;
 
     public GeneticAlgorithm startedAt(long startTime) {
         this.startTime = startTime;
@@ -67,11 +99,66 @@ public abstract class GeneticAlgorithm {
         return this;
     }
 
+    public GeneticAlgorithm crossesOverWith(CrossoverAlgorithm.Type crossoverType) {
+        this.crossoverType = crossoverType;
+        return this;
+    }
+
     public GeneticAlgorithm calculatesHammingDistance(boolean hammingDistance) {
         this.calculateHammingDistance = hammingDistance;
         return this;
     }
 
+    public GeneticAlgorithm evaluatesWithFoldingKernel(boolean usesFoldingKernel) {
+        this.usesFoldingKernel = usesFoldingKernel;
+        return this;
+    }
+
+    public GeneticAlgorithm evaluatesWithThreads(int evaluationThreads) {
+        this.evaluationThreads = evaluationThreads;
+        return this;
+    }
+
+    public GeneticAlgorithm skipsUnchangedGenomes(boolean skipsUnchangedGenomes) {
+        this.skipsUnchangedGenomes = skipsUnchangedGenomes;
+        return this;
+    }
+
+    public GeneticAlgorithm cachesFitnessOf(int fitnessCacheSize) {
+        this.fitnessCacheSize = fitnessCacheSize;
+        return this;
+    }
+
+    public GeneticAlgorithm sharesFoldPrefixesEvery(int foldCheckpointInterval) {
+        this.foldCheckpointInterval = foldCheckpointInterval;
+        return this;
+    }
+
+    /**
+     * Selects, crosses over, mutates and evaluates the offspring block by block instead of in separate passes over the population.
+     */
+    public GeneticAlgorithm pipelinesGenerations(boolean pipelinesGenerations) {
+        this.pipelinesGenerations = pipelinesGenerations;
+        return this;
+    }
+
+    /**
+     * Publishes the progress of every saved generation to the monitor, e.g. a registered MBean.
+     */
+    public GeneticAlgorithm reportsTo(GeneticAlgorithmMonitor monitor) {
+        this.monitor = monitor;
+        return this;
+    }
+
+    /**
+     * Replaces random individuals with the immigrants that arrived, whenever a generation starts.
+     */
+    public GeneticAlgorithm migratesWith(Migration migration) {
+        this.migration = migration;
+        this.migrationRandom = new SplittableRandom();
+        return this;
+    }
+
     public GeneticAlgorithm usesSelectionAlgorithm(SelectionAlgorithm selectionAlgorithm) {
         this.selectionAlgorithm = selectionAlgorithm;
         return this;
@@ -84,17 +171,37 @@ public abstract class GeneticAlgorithm {
         return populationGenerator.generateStartPopulation();
     }
 
+    /**
+     * Evolves the population till the limit. The threads of the algorithm are stopped when the run ends.
+     */
     public Population runAlgorithm(Population population) {
+        try {
+            return evolve(population);
+        } finally {
+            getWorkerPool().close();
+        }
+    }
+
+    private Population evolve(Population population) {
+        if (selectionAlgorithm != null) {
+            selectionAlgorithm.usesWorkers(getWorkerPool());
+        }
         population.usesSelectionAlgorithm(selectionAlgorithm);
+        population.setCrossoverType(crossoverType);
         population.setStartTime(startTime);
         population.setDocumentsStatistic(documentsStatistic);
+        population.setFitnessCalculator(getFitnessCalculator());
+        population.setHammingDistanceCounter(getHammingDistanceCounter());
 
+        long start = now(PhaseTimers.ENABLED);
         population.evaluate(primarySequence);
+        phaseTimers.record(Phase.EVALUATE, now(PhaseTimers.ENABLED) - start);
 
         this.currentGeneration = 0;
 
         population.calculateHammingDistance(calculateHammingDistance);
         population.saveResults(totalGeneration);
+        reportGeneration(population);
 
         if (printWhileGenerating) {
             initializeFrame();
@@ -104,6 +211,40 @@ public abstract class GeneticAlgorithm {
         return generateTillLimit(population);
     }
 
+    private FitnessCalculator getFitnessCalculator() {
+        if (fitnessCalculator == null) {
+            fitnessCalculator = new FitnessCalculator(primarySequence)
+                    .usesFoldingKernel(usesFoldingKernel)
+                    .usesWorkers(getWorkerPool())
+                    .skipsUnchangedGenomes(skipsUnchangedGenomes)
+                    .cachesFitness(fitnessCacheSize)
+                    .sharesFoldPrefixes(foldCheckpointInterval);
+        }
+        return fitnessCalculator;
+    }
+
+    private HammingDistanceCounter getHammingDistanceCounter() {
+        if (hammingDistanceCounter == null) {
+            hammingDistanceCounter = new HammingDistanceCounter().usesWorkers(getWorkerPool());
+        }
+        return hammingDistanceCounter;
+    }
+
+    private GenerationPipeline getGenerationPipeline() {
+        if (generationPipeline == null) {
+            generationPipeline = new GenerationPipeline().usesWorkers(getWorkerPool());
+        }
+        return generationPipeline;
+    }
+
+    //one pool for evaluation, selection, pipeline and Hamming distance -> no idle threads per component
+    private WorkerPool getWorkerPool() {
+        if (workerPool == null) {
+            workerPool = new WorkerPool(evaluationThreads);
+        }
+        return workerPool;
+    }
+
     private void initializeFrame() {
         frame = new GraphicOutput();
     }
@@ -114,22 +255,115 @@ public abstract class GeneticAlgorithm {
     }
 
     protected void performAlgorithm(Population population) {
-        population.select(); //selection
-        population.crossover(crossoverRate);
-        population.mutate(mutationRate);
+        mergeImmigrants(population);
+
+        GenerationRecord generationRecord = FlightRecorder.beginGeneration();
+        boolean timed = PhaseTimers.ENABLED || generationRecord.isEnabled(); //no clock reads if neither wants the durations
+        StatisticAccumulator accumulator;
+
+        long start = now(timed);
+        if (pipelinesGenerations) {
+            accumulator = getGenerationPipeline().performGeneration(population, crossoverRate, mutationRate);
+            population.getStatistic().setSkippedEvaluations(accumulator.getSkippedEvaluations());
+            long pipelined = now(timed);
+
+            generationRecord.setPipelineDuration(phaseTimers.record(Phase.PIPELINE, pipelined - start));
+        } else {
+            population.select(); //selection
+            long selected = now(timed);
+            population.crossover(crossoverRate);
+            long crossedOver = now(timed);
+            population.mutate(mutationRate);
+            long mutated = now(timed);
+            population.evaluate(primarySequence);
+            long evaluated = now(timed);
+            accumulator = StatisticAccumulator.of(population.getStore());
+
+            generationRecord.setSelectDuration(phaseTimers.record(Phase.SELECT, selected - start));
+            generationRecord.setCrossoverDuration(phaseTimers.record(Phase.CROSSOVER, crossedOver - selected));
+            generationRecord.setMutateDuration(phaseTimers.record(Phase.MUTATE, mutated - crossedOver));
+            generationRecord.setEvaluateDuration(phaseTimers.record(Phase.EVALUATE, evaluated - mutated));
+        }
 
-        population.evaluate(primarySequence);
+        saveResults(population, accumulator, generationRecord);
+        generationRecord.commitWith(totalGeneration, population);
+    }
 
+    //durations are measured as difference of two calls, which are 0 when not timed
+    private static long now(boolean timed) {
+        return timed ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Calculates the Hamming distance and saves the results of the generation, recording both durations.
+     */
+    protected void saveResults(Population population, StatisticAccumulator accumulator, GenerationRecord generationRecord) {
+        boolean timed = PhaseTimers.ENABLED || generationRecord.isEnabled();
+
+        long start = now(timed);
         population.calculateHammingDistance(calculateHammingDistance);
-        population.saveResults(totalGeneration);
+        long hammingCalculated = now(timed);
+        population.saveResults(totalGeneration, accumulator);
+        long saved = now(timed);
+
+        generationRecord.setHammingDuration(phaseTimers.record(Phase.HAMMING, hammingCalculated - start));
+        generationRecord.setSaveResultsDuration(phaseTimers.record(Phase.SAVE_RESULTS, saved - hammingCalculated));
+        reportGeneration(population);
 
         if (printWhileGenerating) {
             paint(population);
         }
     }
 
+    /**
+     * Evaluates the immigrants into the slots of random individuals and keeps the statistic accumulator up to date,
+     * so the population looks as if it had been evaluated with them.
+     */
+    protected void mergeImmigrants(Population population) {
+        if (migration == null) {
+            return;
+        }
+        List<Genome> immigrants = migration.pollImmigrants();
+        if (immigrants.isEmpty()) {
+            return;
+        }
+
+        List<Genome> genepool = population.getGenepool();
+        PopulationStore store = population.getStore();
+        FitnessCalculator fitnessCalculator = getFitnessCalculator();
+        StatisticAccumulator accumulator = population.getStatisticAccumulator();
+
+        int[] indices = IntStream.range(0, genepool.size()).toArray();
+        int amount = Math.min(immigrants.size(), indices.length);
+        for (int i = 0; i < amount; i++) {
+            int swap = i + migrationRandom.nextInt(indices.length - i); //partial shuffle -> distinct random slots
+            int index = indices[swap];
+            indices[swap] = indices[i];
+
+            Genome immigrant = immigrants.get(i);
+            accumulator.remove(store, index);
+            fitnessCalculator.calculateFitnessOfGenome(immigrant, store, index);
+            accumulator.add(store, index);
+
+            immigrant.evaluatedAt(index);
+            genepool.set(index, immigrant);
+            fitnessCalculator.forgetFold(index);
+        }
+    }
+
+    private void reportGeneration(Population population) {
+        if (monitor != null) {
+            monitor.watches(getFitnessCalculator().getFitnessCache());
+            monitor.recordGeneration(totalGeneration, population);
+        }
+    }
+
     protected abstract Population generateTillLimit(Population population);
 
+    public PhaseTimers getPhaseTimers() {
+        return phaseTimers;
+    }
+
     public int getCurrentGeneration() {
         return currentGeneration;
     }
@@ -0,0 +1,16 @@
+package org.hda.gaf.algorithm.geneticalgorithm;
+
+import org.hda.gaf.algorithm.genome.Genome;
+
+import java.util.List;
+
+/**
+ * Source of individuals from other populations, which are merged at generation boundaries.
+ */
+public interface Migration {
+
+    /**
+     * Individuals that arrived since the last call, empty if none did. Must not wait for them.
+     */
+    List<Genome> pollImmigrants();
+}
@@ -0,0 +1,245 @@
+package org.hda.gaf.algorithm.geneticalgorithm;
+
+import org.hda.gaf.algorithm.Population;
+import org.hda.gaf.algorithm.PopulationStore;
+import org.hda.gaf.algorithm.StatisticAccumulator;
+import org.hda.gaf.algorithm.crossover.CrossoverAlgorithm;
+import org.hda.gaf.algorithm.evaluation.FitnessCalculator;
+import org.hda.gaf.algorithm.genome.Genome;
+import org.hda.gaf.algorithm.monitoring.FlightRecorder;
+import org.hda.gaf.algorithm.monitoring.GenerationRecord;
+import org.hda.gaf.algorithm.mutation.MutationAlgorithm;
+import org.hda.gaf.algorithm.timing.Phase;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Breeds small batches of offspring and lets them replace individuals of the population in place, instead of building whole generations.
+ * Statistics are kept up to date with every replacement. Every time as many offspring as the population amount were bred,
+ * this counts as a generation and its results are saved.
+ */
+public class SteadyStateAlgorithm extends GeneticAlgorithm {
+
+    public enum Replacement {
+        WORST, TOURNAMENT_LOSER
+    }
+
+    private int batchSize = 2;
+    private Replacement replacement = Replacement.WORST;
+    private int replacementCandidates = 2;
+
+    private Integer generationAmount;
+    private Long time;
+    private long endTime;
+
+    private Random rand;
+
+    private List<Genome> offspring;
+    private PopulationStore offspringStore;
+    private int[] replacedIndices;
+    private StatisticAccumulator accumulator;
+    private int skippedEvaluations;
+
+    public SteadyStateAlgorithm() {
+        rand = new Random(Instant.now().toEpochMilli());
+    }
+
+    public SteadyStateAlgorithm breedsInBatchesOf(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+        return this;
+    }
+
+    /**
+     * Offspring replace the worst individuals, or the worst of replacementCandidates random individuals each.
+     */
+    public SteadyStateAlgorithm replaces(Replacement replacement, int replacementCandidates) {
+        this.replacement = replacement;
+        this.replacementCandidates = Math.max(1, replacementCandidates);
+        return this;
+    }
+
+    public SteadyStateAlgorithm usesGenerationLimit(int generationAmount) {
+        this.generationAmount = generationAmount;
+        return this;
+    }
+
+    public SteadyStateAlgorithm usesTimeLimit(long time) {
+        this.time = time;
+        return this;
+    }
+
+    @Override
+    protected Population generateTillLimit(Population population) {
+        if (time != null) {
+            endTime = Instant.now().toEpochMilli() + time;
+        }
+
+        int populationSize = population.getGenepool().size();
+        int batchSize = Math.min(this.batchSize, populationSize);
+        setupBatch(batchSize);
+
+        accumulator = StatisticAccumulator.of(population.getStore());
+        population.setStatisticAccumulator(accumulator); //kept up to date with every replacement
+        CrossoverAlgorithm crossoverAlgorithm = new CrossoverAlgorithm(crossoverRate, populationSize).usesType(population.getCrossoverType());
+        MutationAlgorithm mutationAlgorithm = new MutationAlgorithm();
+
+        int bredOffspring = 0;
+        GenerationRecord generationRecord = FlightRecorder.beginGeneration();
+        while (!isOver()) {
+            long start = phaseTimers.start();
+            breedBatch(population, crossoverAlgorithm, mutationAlgorithm);
+            phaseTimers.stop(Phase.BREED, start);
+
+            start = phaseTimers.start();
+            replaceIndividuals(population);
+            phaseTimers.stop(Phase.REPLACE, start);
+
+            bredOffspring += batchSize;
+            if (bredOffspring >= populationSize) {
+                bredOffspring -= populationSize;
+                currentGeneration++;
+                totalGeneration++;
+
+                population.getStatistic().setSkippedEvaluations(skippedEvaluations);
+                skippedEvaluations = 0;
+                saveResults(population, accumulator, generationRecord);
+                generationRecord.commitWith(totalGeneration, population);
+
+                mergeImmigrants(population);
+                accumulator = StatisticAccumulator.of(population.getStore()); //no rounding errors pile up
+                population.setStatisticAccumulator(accumulator);
+                generationRecord = FlightRecorder.beginGeneration();
+            }
+        }
+
+        return population;
+    }
+
+    private void setupBatch(int batchSize) {
+        if (offspring == null || offspring.size() != batchSize) {
+            offspring = new ArrayList<>(batchSize);
+            offspringStore = new PopulationStore(batchSize);
+            replacedIndices = new int[batchSize];
+        }
+        offspringStore.resize(batchSize);
+    }
+
+    private boolean isOver() {
+        if (time != null && Instant.now().toEpochMilli() >= endTime) {
+            return true;
+        }
+        return generationAmount != null && currentGeneration >= generationAmount;
+    }
+
+    //offspring are evaluated aside, so their parents stay untouched until the whole batch is bred
+    private void breedBatch(Population population, CrossoverAlgorithm crossoverAlgorithm, MutationAlgorithm mutationAlgorithm) {
+        List<Genome> genepool = population.getGenepool();
+        PopulationStore store = population.getStore();
+        FitnessCalculator fitnessCalculator = population.getFitnessCalculator();
+
+        int batchSize = offspringStore.getSize();
+        int[] parents = population.getSelectionAlgorithm().selectIndicesOnPopulation(population, batchSize);
+
+        offspring.clear();
+        for (int parent : parents) {
+            offspring.add(genepool.get(parent).copy());
+        }
+
+        for (int i = 0; i + 1 < batchSize; i += 2) {
+            if (rand.nextFloat() < crossoverRate) {
+                crossoverAlgorithm.doOneCrossoverOnParents(offspring.get(i), offspring.get(i + 1));
+            }
+        }
+        mutationAlgorithm.mutate(offspring, mutationRate);
+
+        for (int i = 0; i < batchSize; i++) {
+            Genome child = offspring.get(i);
+            if (skipsUnchangedGenomes && child.isUnchanged()) {
+                offspringStore.record(i, store, parents[i]);
+                skippedEvaluations++;
+            } else {
+                fitnessCalculator.calculateFitnessOfGenome(child, offspringStore, i);
+            }
+        }
+    }
+
+    private void replaceIndividuals(Population population) {
+        List<Genome> genepool = population.getGenepool();
+        PopulationStore store = population.getStore();
+        FitnessCalculator fitnessCalculator = population.getFitnessCalculator();
+
+        int batchSize = offspringStore.getSize();
+        if (replacement == Replacement.WORST) {
+            findWorst(store, batchSize);
+        } else {
+            findTournamentLosers(store, batchSize);
+        }
+
+        for (int i = 0; i < batchSize; i++) {
+            int index = replacedIndices[i];
+
+            accumulator.remove(store, index);
+            store.record(index, offspringStore, i);
+            accumulator.add(store, index);
+
+            Genome child = offspring.get(i);
+            child.evaluatedAt(index);
+            genepool.set(index, child);
+            fitnessCalculator.forgetFold(index);
+        }
+    }
+
+    //keeps the worst indices sorted by descending fitness, so the first one is the next to drop out
+    private void findWorst(PopulationStore store, int amount) {
+        double[] fitness = store.getFitness();
+        int found = 0;
+
+        for (int index = 0; index < store.getSize(); index++) {
+            if (found < amount) {
+                insertByFitness(fitness, index, found++);
+            } else if (fitness[index] < fitness[replacedIndices[0]]) {
+                System.arraycopy(replacedIndices, 1, replacedIndices, 0, amount - 1);
+                insertByFitness(fitness, index, amount - 1);
+            }
+        }
+    }
+
+    private void insertByFitness(double[] fitness, int index, int position) {
+        while (position > 0 && fitness[replacedIndices[position - 1]] < fitness[index]) {
+            replacedIndices[position] = replacedIndices[position - 1];
+            position--;
+        }
+        replacedIndices[position] = index;
+    }
+
+    private void findTournamentLosers(PopulationStore store, int amount) {
+        double[] fitness = store.getFitness();
+
+        for (int i = 0; i < amount; i++) {
+            int loser = -1;
+            for (int candidate = 0; candidate < replacementCandidates; candidate++) {
+                int index = rand.nextInt(store.getSize());
+                if (!isReplaced(index, i) && (loser == -1 || fitness[index] < fitness[loser])) {
+                    loser = index;
+                }
+            }
+
+            while (loser == -1 || isReplaced(loser, i)) { //all candidates already lose in this batch
+                loser = rand.nextInt(store.getSize());
+            }
+            replacedIndices[i] = loser;
+        }
+    }
+
+    private boolean isReplaced(int index, int replacedAmount) {
+        for (int i = 0; i < replacedAmount; i++) {
+            if (replacedIndices[i] == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
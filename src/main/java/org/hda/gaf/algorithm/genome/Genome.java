@@ -0,0 +1,275 @@
+package org.hda.gaf.algorithm.genome;
+
+import org.hda.gaf.algorithm.evaluation.direction.RelativeDirection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Relative directions of a single protein packed with 2 bits per gene into a long[].
+ * The code of a gene is the ordinal of its {@link RelativeDirection}, so 32 genes share one word.
+ * <p>
+ * A genome also remembers its origin, the index it was evaluated at in the last generation,
+ * and the first gene changed since then. Genes before that gene fold exactly like the origin did.
+ */
+public class Genome {
+
+    public static final int BITS_PER_GENE = 2;
+    public static final int GENES_PER_WORD = Long.SIZE / BITS_PER_GENE;
+    public static final int GENES_PER_BYTE = Byte.SIZE / BITS_PER_GENE;
+    public static final int NO_ORIGIN = -1;
+
+    private static final long GENE_MASK = 0b11L;
+    private static final long LOW_BITS_OF_GENES = 0x5555555555555555L;
+
+    private static final RelativeDirection[] DIRECTIONS = RelativeDirection.values();
+
+    private final long[] words;
+    private final int size;
+
+    private int origin = NO_ORIGIN;
+    private int firstDirtyGene = 0;
+
+    public Genome(int size) {
+        this.size = size;
+        this.words = new long[wordsFor(size)];
+    }
+
+    private Genome(Genome genome) {
+        this.size = genome.size;
+        this.words = genome.words.clone();
+        this.origin = genome.origin;
+        this.firstDirtyGene = genome.firstDirtyGene;
+    }
+
+    public static Genome of(RelativeDirection... directions) {
+        return fromDirections(Arrays.asList(directions));
+    }
+
+    public static Genome fromDirections(List<RelativeDirection> directions) {
+        Genome genome = new Genome(directions.size());
+        for (int i = 0; i < directions.size(); i++) {
+            genome.set(i, directions.get(i));
+        }
+        return genome;
+    }
+
+    public static Genome fromCharacters(CharSequence characters) {
+        Genome genome = new Genome(characters.length());
+        for (int i = 0; i < characters.length(); i++) {
+            genome.set(i, RelativeDirection.fromChar(characters.charAt(i)));
+        }
+        return genome;
+    }
+
+    /**
+     * Reads a genome written by {@link #writeTo(byte[], int)}.
+     */
+    public static Genome readFrom(byte[] source, int offset, int size) {
+        Genome genome = new Genome(size);
+        for (int i = 0; i < bytesFor(size); i++) {
+            genome.words[i / Long.BYTES] |= (source[offset + i] & 0xFFL) << ((i % Long.BYTES) * Byte.SIZE);
+        }
+        if (size > 0) {
+            int lastWord = genome.words.length - 1;
+            genome.words[lastWord] &= bitsBelow(shiftOf(size - 1) + BITS_PER_GENE); //bits behind the last gene stay 0
+        }
+        return genome;
+    }
+
+    public static int wordsFor(int size) {
+        return (size + GENES_PER_WORD - 1) / GENES_PER_WORD;
+    }
+
+    public static int bytesFor(int size) {
+        return (size + GENES_PER_BYTE - 1) / GENES_PER_BYTE;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public RelativeDirection get(int index) {
+        return DIRECTIONS[getCode(index)];
+    }
+
+    public int getCode(int index) {
+        return (int) (words[index / GENES_PER_WORD] >>> shiftOf(index)) & (int) GENE_MASK;
+    }
+
+    public void set(int index, RelativeDirection direction) {
+        setCode(index, direction.ordinal());
+    }
+
+    public void setCode(int index, int code) {
+        markDirtyFrom(index);
+
+        int wordIndex = index / GENES_PER_WORD;
+        int shift = shiftOf(index);
+        words[wordIndex] = (words[wordIndex] & ~(GENE_MASK << shift)) | ((long) code << shift);
+    }
+
+    public Genome copy() {
+        return new Genome(this);
+    }
+
+    public void copyFrom(Genome genome) {
+        System.arraycopy(genome.words, 0, words, 0, words.length);
+        origin = genome.origin;
+        firstDirtyGene = genome.firstDirtyGene;
+    }
+
+    /**
+     * Copy of a genome that was evaluated at the given index, without any changes since.
+     */
+    public Genome descendantOf(int origin) {
+        Genome descendant = copy();
+        descendant.evaluatedAt(origin);
+        return descendant;
+    }
+
+    public void evaluatedAt(int index) {
+        origin = index;
+        firstDirtyGene = size;
+    }
+
+    public void markDirtyFrom(int index) {
+        if (index < firstDirtyGene) {
+            firstDirtyGene = index;
+        }
+    }
+
+    public boolean isUnchanged() {
+        return origin != NO_ORIGIN && firstDirtyGene == size;
+    }
+
+    public int getOrigin() {
+        return origin;
+    }
+
+    public int getFirstDirtyGene() {
+        return firstDirtyGene;
+    }
+
+    /**
+     * Builds a child taking the genes before spliceIndex from this genome and the rest from the other one.
+     */
+    public Genome spliceWith(Genome other, int spliceIndex) {
+        Genome child = copy();
+
+        int wordIndex = spliceIndex / GENES_PER_WORD;
+        int shift = shiftOf(spliceIndex);
+
+        if (shift != 0) {
+            long prefixMask = (1L << shift) - 1;
+            child.words[wordIndex] = (words[wordIndex] & prefixMask) | (other.words[wordIndex] & ~prefixMask);
+            wordIndex++;
+        }
+        System.arraycopy(other.words, wordIndex, child.words, wordIndex, words.length - wordIndex);
+        child.markDirtyFrom(spliceIndex);
+
+        return child;
+    }
+
+    /**
+     * Exchanges the genes from index from to index to (exclusive) with the other genome, one word at a time.
+     */
+    public void swapGenesWith(Genome other, int from, int to) {
+        for (int wordIndex = from / GENES_PER_WORD; wordIndex < wordsFor(to); wordIndex++) {
+            int firstGene = wordIndex * GENES_PER_WORD;
+            int lowShift = (Math.max(from, firstGene) - firstGene) * BITS_PER_GENE;
+            int highShift = (Math.min(to, firstGene + GENES_PER_WORD) - firstGene) * BITS_PER_GENE;
+
+            swapWordWith(other, wordIndex, bitsBelow(highShift) & ~bitsBelow(lowShift));
+        }
+    }
+
+    /**
+     * Exchanges the genes of one word with the other genome, whose low bit is set in the selection.
+     */
+    public void swapSelectedGenesWith(Genome other, int wordIndex, long selection) {
+        swapWordWith(other, wordIndex, (selection & LOW_BITS_OF_GENES) * 3); //spreads every low bit to both bits of its gene
+    }
+
+    private void swapWordWith(Genome other, int wordIndex, long mask) {
+        long difference = (words[wordIndex] ^ other.words[wordIndex]) & mask;
+        if (difference == 0) {
+            return;
+        }
+
+        words[wordIndex] ^= difference;
+        other.words[wordIndex] ^= difference;
+
+        int firstChangedGene = wordIndex * GENES_PER_WORD + Long.numberOfTrailingZeros(difference) / BITS_PER_GENE;
+        markDirtyFrom(firstChangedGene);
+        other.markDirtyFrom(firstChangedGene);
+    }
+
+    private static long bitsBelow(int shift) {
+        return shift == Long.SIZE ? -1L : (1L << shift) - 1;
+    }
+
+    public int getWordAmount() {
+        return words.length;
+    }
+
+    public int hammingDistance(Genome other) {
+        int hammingDistance = 0;
+        for (int i = 0; i < words.length; i++) {
+            long difference = words[i] ^ other.words[i];
+            hammingDistance += Long.bitCount((difference | (difference >>> 1)) & LOW_BITS_OF_GENES);
+        }
+        return hammingDistance;
+    }
+
+    /**
+     * Writes the genes packed like in the words, 4 genes per byte, e.g. to send them to another process.
+     */
+    public void writeTo(byte[] target, int offset) {
+        for (int i = 0; i < bytesFor(size); i++) {
+            target[offset + i] = (byte) (words[i / Long.BYTES] >>> ((i % Long.BYTES) * Byte.SIZE));
+        }
+    }
+
+    public List<RelativeDirection> toDirections() {
+        List<RelativeDirection> directions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            directions.add(get(i));
+        }
+        return directions;
+    }
+
+    public String toCharacters() {
+        StringBuilder characters = new StringBuilder(size);
+        for (int i = 0; i < size; i++) {
+            characters.append(get(i).getCharacter());
+        }
+        return characters.toString();
+    }
+
+    private static int shiftOf(int index) {
+        return (index % GENES_PER_WORD) * BITS_PER_GENE;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Genome genome = (Genome) o;
+
+        if (size != genome.size) return false;
+        return Arrays.equals(words, genome.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * size + Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return toCharacters();
+    }
+}
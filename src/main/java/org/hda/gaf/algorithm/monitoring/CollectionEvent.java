@@ -0,0 +1,62 @@
+package org.hda.gaf.algorithm.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event spanning the collection of the best proteins of all processes by process 0.
+ */
+@Name("org.hda.gaf.Collection")
+@Label("Collection")
+@Category({"Genetic Algorithm", "MPJ"})
+@Description("Best protein sent to or received by process 0")
+@StackTrace(false)
+public class CollectionEvent extends Event implements CollectionRecord {
+
+    @Label("Rank")
+    private int rank;
+
+    @Label("Best Fitness")
+    @Description("Best fitness of this process before the collection")
+    private double bestFitness;
+
+    @Label("Sent")
+    @DataAmount
+    private long sentBytes;
+
+    @Label("Received")
+    @DataAmount
+    private long receivedBytes;
+
+    @Label("Wait Time")
+    @Description("Time spent in send and receive calls")
+    @Timespan
+    private long waitDuration;
+
+    @Override
+    public void sent(long bytes, long waitNanos) {
+        sentBytes += bytes;
+        waitDuration += waitNanos;
+    }
+
+    @Override
+    public void received(long bytes, long waitNanos) {
+        receivedBytes += bytes;
+        waitDuration += waitNanos;
+    }
+
+    @Override
+    public void commitFor(int rank, double bestFitness) {
+        if (shouldCommit()) {
+            this.rank = rank;
+            this.bestFitness = bestFitness;
+            commit();
+        }
+    }
+}
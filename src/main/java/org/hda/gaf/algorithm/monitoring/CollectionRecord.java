@@ -0,0 +1,17 @@
+package org.hda.gaf.algorithm.monitoring;
+
+/**
+ * Collection of the best proteins, recorded by a {@link CollectionEvent} if the JVM has a flight recorder.
+ * The default methods do nothing, for JVMs without one.
+ */
+public interface CollectionRecord {
+
+    default void sent(long bytes, long waitNanos) {
+    }
+
+    default void received(long bytes, long waitNanos) {
+    }
+
+    default void commitFor(int rank, double bestFitness) {
+    }
+}
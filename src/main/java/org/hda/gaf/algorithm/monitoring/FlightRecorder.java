@@ -0,0 +1,56 @@
+package org.hda.gaf.algorithm.monitoring;
+
+/**
+ * Begins flight recorder events, or records that do nothing if the JVM has no flight recorder API (JDK 8 before 8u262).
+ * Only this class refers to the event classes, so they are never loaded on such a JVM.
+ */
+public final class FlightRecorder {
+
+    public static final boolean AVAILABLE = isAvailable();
+
+    private static final GenerationRecord NO_GENERATION = new GenerationRecord() {
+    };
+    private static final MigrationRecord NO_MIGRATION = new MigrationRecord() {
+    };
+    private static final CollectionRecord NO_COLLECTION = new CollectionRecord() {
+    };
+
+    private FlightRecorder() {
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, FlightRecorder.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    public static GenerationRecord beginGeneration() {
+        if (!AVAILABLE) {
+            return NO_GENERATION;
+        }
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
+        return event;
+    }
+
+    public static MigrationRecord beginMigration() {
+        if (!AVAILABLE) {
+            return NO_MIGRATION;
+        }
+        MigrationEvent event = new MigrationEvent();
+        event.begin();
+        return event;
+    }
+
+    public static CollectionRecord beginCollection() {
+        if (!AVAILABLE) {
+            return NO_COLLECTION;
+        }
+        CollectionEvent event = new CollectionEvent();
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,95 @@
+package org.hda.gaf.algorithm.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+import org.hda.gaf.algorithm.Population;
+import org.hda.gaf.algorithm.PopulationStatistic;
+
+/**
+ * Flight recorder event spanning one generation, with the duration of each phase and the statistic afterwards.
+ * Durations of unused phases stay 0, e.g. select to evaluate when generations are pipelined, and all but Hamming distance
+ * and save results in steady-state runs.
+ */
+@Name("org.hda.gaf.Generation")
+@Label("Generation")
+@Category("Genetic Algorithm")
+@Description("One generation of the genetic algorithm")
+@StackTrace(false)
+@Setter
+public class GenerationEvent extends Event implements GenerationRecord {
+
+    @Label("Generation")
+    private int generation;
+
+    @Label("Select")
+    @Timespan
+    private long selectDuration;
+
+    @Label("Crossover")
+    @Timespan
+    private long crossoverDuration;
+
+    @Label("Mutate")
+    @Timespan
+    private long mutateDuration;
+
+    @Label("Evaluate")
+    @Timespan
+    private long evaluateDuration;
+
+    @Label("Pipeline")
+    @Timespan
+    private long pipelineDuration;
+
+    @Label("Hamming Distance")
+    @Timespan
+    private long hammingDuration;
+
+    @Label("Save Results")
+    @Timespan
+    private long saveResultsDuration;
+
+    @Label("Best Fitness")
+    private double bestFitness;
+
+    @Label("Best Fitness In Generation")
+    private double bestFitnessInGeneration;
+
+    @Label("Average Fitness")
+    private double averageFitness;
+
+    @Label("Fitness Variance")
+    private double fitnessVariance;
+
+    @Label("Average Hamming Distance")
+    private double averageHammingDistance;
+
+    @Label("Skipped Evaluations")
+    private int skippedEvaluations;
+
+    /**
+     * Takes over the statistic of the saved generation and commits the event, if it is recorded.
+     */
+    @Override
+    public void commitWith(int generation, Population population) {
+        if (!shouldCommit()) {
+            return;
+        }
+
+        PopulationStatistic statistic = population.getStatistic();
+        this.generation = generation;
+        this.bestFitness = statistic.getBestProtein().getAbsoluteFitness();
+        this.bestFitnessInGeneration = statistic.getBestProteinInGeneration().getAbsoluteFitness();
+        this.averageFitness = statistic.getAverageFitness();
+        this.fitnessVariance = statistic.getFitnessVariance();
+        this.averageHammingDistance = statistic.getAverageHammingDistance();
+        this.skippedEvaluations = statistic.getSkippedEvaluations();
+        commit();
+    }
+}
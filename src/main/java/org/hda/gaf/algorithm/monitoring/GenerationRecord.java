@@ -0,0 +1,38 @@
+package org.hda.gaf.algorithm.monitoring;
+
+import org.hda.gaf.algorithm.Population;
+
+/**
+ * Durations and statistic of one generation, recorded by a {@link GenerationEvent} if the JVM has a flight recorder.
+ * The default methods do nothing, for JVMs without one.
+ */
+public interface GenerationRecord {
+
+    default boolean isEnabled() {
+        return false;
+    }
+
+    default void setSelectDuration(long selectDuration) {
+    }
+
+    default void setCrossoverDuration(long crossoverDuration) {
+    }
+
+    default void setMutateDuration(long mutateDuration) {
+    }
+
+    default void setEvaluateDuration(long evaluateDuration) {
+    }
+
+    default void setPipelineDuration(long pipelineDuration) {
+    }
+
+    default void setHammingDuration(long hammingDuration) {
+    }
+
+    default void setSaveResultsDuration(long saveResultsDuration) {
+    }
+
+    default void commitWith(int generation, Population population) {
+    }
+}
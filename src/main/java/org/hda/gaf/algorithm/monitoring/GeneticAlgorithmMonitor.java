@@ -0,0 +1,196 @@
+package org.hda.gaf.algorithm.monitoring;
+
+import org.hda.gaf.algorithm.Population;
+import org.hda.gaf.algorithm.PopulationStatistic;
+import org.hda.gaf.algorithm.evaluation.FitnessCache;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the progress of one process as platform MBean. The generation loop only writes a few fields per generation,
+ * everything else is calculated when the MBean is read.
+ */
+public class GeneticAlgorithmMonitor implements GeneticAlgorithmMonitorMBean {
+
+    private final int rank;
+
+    private volatile int generation;
+    private final AtomicLong evaluations = new AtomicLong();
+    private volatile double bestFitness;
+    private volatile double bestFitnessInGeneration;
+    private volatile double averageFitness;
+    private volatile double averageHammingDistance;
+    private volatile int skippedEvaluations;
+    private volatile FitnessCache fitnessCache;
+
+    private final Rate evaluationRate = new Rate();
+    private final Rate generationRate = new Rate();
+    private final Rate allocationRate = new Rate();
+
+    public GeneticAlgorithmMonitor(int rank) {
+        this.rank = rank;
+    }
+
+    /**
+     * Registers the monitor at the platform MBean server as org.hda.gaf:type=GeneticAlgorithm,rank=&lt;rank&gt;.
+     * A monitor of an earlier run with the same rank is replaced, so jconsole doesn't show its frozen values.
+     * Monitoring is optional, so a failed registration is only reported.
+     */
+    public GeneticAlgorithmMonitor register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("org.hda.gaf:type=GeneticAlgorithm,rank=" + rank);
+            synchronized (GeneticAlgorithmMonitor.class) {
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+                server.registerMBean(this, name);
+            }
+        } catch (JMException e) {
+            System.err.println("Process " + rank + " couldn't register its monitor: " + e.getMessage());
+        }
+        return this;
+    }
+
+    public void watches(FitnessCache fitnessCache) {
+        this.fitnessCache = fitnessCache;
+    }
+
+    /**
+     * Takes over the statistic of a generation whose results were just saved.
+     */
+    public void recordGeneration(int generation, Population population) {
+        PopulationStatistic statistic = population.getStatistic();
+
+        evaluations.addAndGet(population.getStore().getSize() - statistic.getSkippedEvaluations());
+        skippedEvaluations = statistic.getSkippedEvaluations();
+        bestFitness = statistic.getBestProtein().getAbsoluteFitness();
+        bestFitnessInGeneration = statistic.getBestProteinInGeneration().getAbsoluteFitness();
+        averageFitness = statistic.getAverageFitness();
+        averageHammingDistance = statistic.getAverageHammingDistance();
+        this.generation = generation;
+    }
+
+    @Override
+    public int getRank() {
+        return rank;
+    }
+
+    @Override
+    public int getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public long getEvaluations() {
+        return evaluations.get();
+    }
+
+    @Override
+    public double getEvaluationsPerSecond() {
+        return evaluationRate.perSecond(evaluations.get());
+    }
+
+    @Override
+    public double getGenerationsPerSecond() {
+        return generationRate.perSecond(generation);
+    }
+
+    @Override
+    public double getBestFitness() {
+        return bestFitness;
+    }
+
+    @Override
+    public double getBestFitnessInGeneration() {
+        return bestFitnessInGeneration;
+    }
+
+    @Override
+    public double getAverageFitness() {
+        return averageFitness;
+    }
+
+    @Override
+    public double getAverageHammingDistance() {
+        return averageHammingDistance;
+    }
+
+    @Override
+    public int getSkippedEvaluations() {
+        return skippedEvaluations;
+    }
+
+    @Override
+    public double getFitnessCacheHitRate() {
+        FitnessCache fitnessCache = this.fitnessCache;
+        if (fitnessCache == null) {
+            return 0;
+        }
+        long lookups = fitnessCache.getHits() + fitnessCache.getMisses();
+        return lookups == 0 ? 0 : (double) fitnessCache.getHits() / lookups;
+    }
+
+    /**
+     * Bytes allocated by all threads of the JVM, as far as the JVM supports counting them.
+     */
+    @Override
+    public double getAllocatedMegabytesPerSecond() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            return 0;
+        }
+
+        com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        if (!allocationMXBean.isThreadAllocatedMemorySupported() || !allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+            return 0;
+        }
+
+        long allocatedBytes = 0;
+        for (long bytes : allocationMXBean.getThreadAllocatedBytes(threadMXBean.getAllThreadIds())) {
+            allocatedBytes += Math.max(0, bytes); //-1 for threads that ended meanwhile
+        }
+        return allocationRate.perSecond(allocatedBytes) / (1024 * 1024);
+    }
+
+    @Override
+    public long getGarbageCollections() {
+        long collections = 0;
+        for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collections += Math.max(0, garbageCollector.getCollectionCount());
+        }
+        return collections;
+    }
+
+    @Override
+    public long getGarbageCollectionMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, garbageCollector.getCollectionTime());
+        }
+        return millis;
+    }
+
+    //change of a counter per second since the previous call
+    private static class Rate {
+
+        private long lastNanos = System.nanoTime();
+        private long lastValue;
+
+        private synchronized double perSecond(long value) {
+            long now = System.nanoTime();
+            double seconds = (now - lastNanos) / 1e9;
+            double rate = seconds > 0 ? (value - lastValue) / seconds : 0;
+
+            lastNanos = now;
+            lastValue = value;
+            return rate;
+        }
+    }
+}
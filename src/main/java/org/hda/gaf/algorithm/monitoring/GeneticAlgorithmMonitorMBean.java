@@ -0,0 +1,35 @@
+package org.hda.gaf.algorithm.monitoring;
+
+/**
+ * Live values of a running genetic algorithm, e.g. for jconsole. Rates are averaged since the previous read of the same rate.
+ */
+public interface GeneticAlgorithmMonitorMBean {
+
+    int getRank();
+
+    int getGeneration();
+
+    long getEvaluations();
+
+    double getEvaluationsPerSecond();
+
+    double getGenerationsPerSecond();
+
+    double getBestFitness();
+
+    double getBestFitnessInGeneration();
+
+    double getAverageFitness();
+
+    double getAverageHammingDistance();
+
+    int getSkippedEvaluations();
+
+    double getFitnessCacheHitRate();
+
+    double getAllocatedMegabytesPerSecond();
+
+    long getGarbageCollections();
+
+    long getGarbageCollectionMillis();
+}
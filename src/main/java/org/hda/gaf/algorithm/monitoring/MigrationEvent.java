@@ -0,0 +1,73 @@
+package org.hda.gaf.algorithm.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for one message of individuals sent to the next or received from the previous process.
+ */
+@Name("org.hda.gaf.Migration")
+@Label("Migration")
+@Category({"Genetic Algorithm", "MPJ"})
+@Description("Individuals sent to the next and received from the previous process")
+@StackTrace(false)
+public class MigrationEvent extends Event implements MigrationRecord {
+
+    @Label("Rank")
+    private int rank;
+
+    @Label("Next Neighbor")
+    private int nextNeighbor;
+
+    @Label("Previous Neighbor")
+    private int prevNeighbor;
+
+    @Label("Sent Individuals")
+    private int sentIndividuals;
+
+    @Label("Received Individuals")
+    private int receivedIndividuals;
+
+    @Label("Sent")
+    @DataAmount
+    private long sentBytes;
+
+    @Label("Received")
+    @DataAmount
+    private long receivedBytes;
+
+    @Label("Wait Time")
+    @Description("Time spent waiting for the previous send or for the message to arrive")
+    @Timespan
+    private long waitDuration;
+
+    @Override
+    public void sent(int individuals, long bytes, long waitNanos) {
+        sentIndividuals += individuals;
+        sentBytes += bytes;
+        waitDuration += waitNanos;
+    }
+
+    @Override
+    public void received(int individuals, long bytes, long waitNanos) {
+        receivedIndividuals += individuals;
+        receivedBytes += bytes;
+        waitDuration += waitNanos;
+    }
+
+    @Override
+    public void commitFor(int rank, int nextNeighbor, int prevNeighbor) {
+        if (shouldCommit()) {
+            this.rank = rank;
+            this.nextNeighbor = nextNeighbor;
+            this.prevNeighbor = prevNeighbor;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.hda.gaf.algorithm.monitoring;
+
+/**
+ * One migration message, recorded by a {@link MigrationEvent} if the JVM has a flight recorder.
+ * The default methods do nothing, for JVMs without one.
+ */
+public interface MigrationRecord {
+
+    default void sent(int individuals, long bytes, long waitNanos) {
+    }
+
+    default void received(int individuals, long bytes, long waitNanos) {
+    }
+
+    default void commitFor(int rank, int nextNeighbor, int prevNeighbor) {
+    }
+}
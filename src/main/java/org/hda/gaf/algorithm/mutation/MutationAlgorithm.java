@@ -1,20 +1,18 @@
 package org.hda.gaf.algorithm.mutation;
 
-import org.hda.gaf.algorithm.evaluation.direction.RelativeDirection;
+import org.hda.gaf.algorithm.genome.Genome;
 
 import java.time.Instant;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
-import java.util.Set;
-
-import static org.hda.gaf.algorithm.evaluation.direction.RelativeDirection.*;
 
 /**
  * Created by marcus on 16.05.16.
  */
 public class MutationAlgorithm {
 
+    private static final int DIRECTION_AMOUNT = 3;
+
     private int mutationTimes;
     private int geneAmount;
     private int totalGeneAmount;
@@ -25,63 +23,84 @@ public class MutationAlgorithm {
         rand = new Random(Instant.now().toEpochMilli());
     }
 
-    public List<List<RelativeDirection>> mutate(List<List<RelativeDirection>> genepool, float mutationRate) {
-        calculateMutationTimes(genepool, mutationRate);
+    public MutationAlgorithm usesSeed(long seed) {
+        this.rand = new Random(seed);
+        return this;
+    }
+
+    public List<Genome> mutate(List<Genome> genepool, float mutationRate) {
+        calculateGeneAmount(genepool);
+
+        return mutate(genepool, Math.round((float) totalGeneAmount * mutationRate));
+    }
 
-        Set<Integer> genePositions = buildGenePositionsForMutation();
+    /**
+     * Mutates exactly mutationTimes distinct genes of the genepool.
+     */
+    public List<Genome> mutate(List<Genome> genepool, int mutationTimes) {
+        calculateGeneAmount(genepool);
+        this.mutationTimes = Math.min(mutationTimes, totalGeneAmount);
 
-        for (Integer genePosition : genePositions) {
-            int genepoolIndex = genePosition / geneAmount;
-            int geneIndex = genePosition % geneAmount;
+        long[] genePositions = buildGenePositionsForMutation();
 
-            List<RelativeDirection> previousProtein = genepool.get(genepoolIndex);
-            RelativeDirection previousDirection = previousProtein.get(geneIndex);
+        //ascending positions -> every genome gets its first mutated gene marked first
+        for (int word = 0; word < genePositions.length; word++) {
+            long positions = genePositions[word];
 
-            RelativeDirection nextDirection = getRandomNextDirection(previousDirection);
+            while (positions != 0) {
+                int genePosition = word * Long.SIZE + Long.numberOfTrailingZeros(positions);
+                positions &= positions - 1;
 
-            previousProtein.set(geneIndex, nextDirection);
+                mutateGene(genepool.get(genePosition / geneAmount), genePosition % geneAmount);
+            }
         }
 
         return genepool;
     }
 
-    private RelativeDirection getRandomNextDirection(RelativeDirection previousDirection) {
-        RelativeDirection nextDirection = STRAIGHT;
-        boolean randomBool = rand.nextBoolean();
-
-        switch (previousDirection) {
-            case RIGHT:
-                nextDirection = randomBool ? LEFT : STRAIGHT;
-                break;
-            case LEFT:
-                nextDirection = randomBool ? RIGHT : STRAIGHT;
-                break;
-            case STRAIGHT:
-                nextDirection = randomBool ? LEFT : RIGHT;
-                break;
-        }
-
-        return nextDirection;
+    //changes to one of the two other directions with the same chance
+    private void mutateGene(Genome genome, int geneIndex) {
+        int nextCode = (genome.getCode(geneIndex) + 1 + rand.nextInt(2)) % DIRECTION_AMOUNT;
+        genome.setCode(geneIndex, nextCode);
     }
 
-    private Set<Integer> buildGenePositionsForMutation() {
-        Set<Integer> genePositions = new HashSet<>();
+    /**
+     * Bitset of mutationTimes distinct positions in the flat gene index space. For more than half of the genes
+     * the positions to keep are drawn instead, so drawing an unused position never takes more than two tries on average.
+     */
+    private long[] buildGenePositionsForMutation() {
+        long[] genePositions = new long[(totalGeneAmount + Long.SIZE - 1) / Long.SIZE];
+
+        boolean drawsKeptPositions = mutationTimes > totalGeneAmount / 2;
+        int drawAmount = drawsKeptPositions ? totalGeneAmount - mutationTimes : mutationTimes;
 
-        while (genePositions.size() != mutationTimes) {
+        for (int drawn = 0; drawn < drawAmount; ) {
             int index = rand.nextInt(totalGeneAmount);
+            long bit = 1L << index; //shift only uses the lowest 6 bits
 
-            genePositions.add(index);
+            if ((genePositions[index / Long.SIZE] & bit) == 0) {
+                genePositions[index / Long.SIZE] |= bit;
+                drawn++;
+            }
+        }
+
+        if (drawsKeptPositions) {
+            for (int word = 0; word < genePositions.length; word++) {
+                genePositions[word] = ~genePositions[word];
+            }
+            int unusedBits = genePositions.length * Long.SIZE - totalGeneAmount;
+            if (unusedBits > 0) {
+                genePositions[genePositions.length - 1] &= -1L >>> unusedBits;
+            }
         }
 
         return genePositions;
     }
 
-    private void calculateMutationTimes(List<List<RelativeDirection>> genepool, float mutationRate) {
+    private void calculateGeneAmount(List<Genome> genepool) {
         if (genepool.size() != 0) {
             geneAmount = genepool.get(0).size();
         }
         totalGeneAmount = genepool.size() * geneAmount;
-
-        mutationTimes = Math.round((float) totalGeneAmount * mutationRate);
     }
 }
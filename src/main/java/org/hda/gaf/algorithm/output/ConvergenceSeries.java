@@ -0,0 +1,114 @@
+package org.hda.gaf.algorithm.output;
+
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+/**
+ * Values of several series per generation, downsampled into a fixed amount of buckets.
+ * Every bucket keeps the lowest and the highest value of its generations, so peaks stay visible in the chart.
+ * When all buckets are full, neighboring buckets are merged and every bucket covers twice as many generations as before.
+ */
+public class ConvergenceSeries {
+
+    private final String[] names;
+    private final int capacity;
+
+    private final double[][] minValues;
+    private final int[][] minGenerations;
+    private final double[][] maxValues;
+    private final int[][] maxGenerations;
+
+    private int bucketAmount;
+    private int bucketWidth = 1; //values per full bucket
+    private int valuesInLastBucket;
+
+    public ConvergenceSeries(int capacity, String... names) {
+        this.names = names;
+        this.capacity = Math.max(2, capacity + capacity % 2); //even -> merging leaves only full buckets
+
+        this.minValues = new double[names.length][this.capacity];
+        this.minGenerations = new int[names.length][this.capacity];
+        this.maxValues = new double[names.length][this.capacity];
+        this.maxGenerations = new int[names.length][this.capacity];
+    }
+
+    /**
+     * Adds one value per series, in the order of the names.
+     */
+    public void add(int generation, double... values) {
+        if (bucketAmount == capacity && valuesInLastBucket == bucketWidth) {
+            mergeBuckets();
+        }
+
+        if (bucketAmount == 0 || valuesInLastBucket == bucketWidth) {
+            bucketAmount++;
+            valuesInLastBucket = 0;
+        }
+
+        int bucket = bucketAmount - 1;
+        for (int series = 0; series < names.length; series++) {
+            double value = values[series];
+
+            if (valuesInLastBucket == 0 || value < minValues[series][bucket]) {
+                minValues[series][bucket] = value;
+                minGenerations[series][bucket] = generation;
+            }
+            if (valuesInLastBucket == 0 || value > maxValues[series][bucket]) {
+                maxValues[series][bucket] = value;
+                maxGenerations[series][bucket] = generation;
+            }
+        }
+        valuesInLastBucket++;
+    }
+
+    private void mergeBuckets() {
+        for (int series = 0; series < names.length; series++) {
+            for (int bucket = 0; bucket < capacity / 2; bucket++) {
+                int first = 2 * bucket;
+                int second = first + 1;
+
+                int minBucket = minValues[series][second] < minValues[series][first] ? second : first;
+                minValues[series][bucket] = minValues[series][minBucket];
+                minGenerations[series][bucket] = minGenerations[series][minBucket];
+
+                int maxBucket = maxValues[series][second] > maxValues[series][first] ? second : first;
+                maxValues[series][bucket] = maxValues[series][maxBucket];
+                maxGenerations[series][bucket] = maxGenerations[series][maxBucket];
+            }
+        }
+
+        bucketAmount = capacity / 2;
+        bucketWidth *= 2;
+        valuesInLastBucket = bucketWidth;
+    }
+
+    public int getBucketAmount() {
+        return bucketAmount;
+    }
+
+    /**
+     * Builds the chart dataset, with the lowest and highest value of every bucket in the order of their generations.
+     */
+    public XYSeriesCollection toDataset() {
+        XYSeriesCollection dataset = new XYSeriesCollection();
+
+        for (int series = 0; series < names.length; series++) {
+            XYSeries xySeries = new XYSeries(names[series], false, true);
+
+            for (int bucket = 0; bucket < bucketAmount; bucket++) {
+                int minGeneration = minGenerations[series][bucket];
+                int maxGeneration = maxGenerations[series][bucket];
+
+                if (maxGeneration < minGeneration) {
+                    xySeries.add(maxGeneration, maxValues[series][bucket]);
+                }
+                xySeries.add(minGeneration, minValues[series][bucket]);
+                if (maxGeneration > minGeneration || (maxGeneration == minGeneration && maxValues[series][bucket] != minValues[series][bucket])) {
+                    xySeries.add(maxGeneration, maxValues[series][bucket]);
+                }
+            }
+            dataset.addSeries(xySeries);
+        }
+        return dataset;
+    }
+}
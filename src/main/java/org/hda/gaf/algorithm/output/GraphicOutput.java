@@ -72,7 +72,7 @@ public class GraphicOutput extends JFrame {
 
         this.protein = population.getBestProtein();
 
-        if (protein.getNodes() != null) {
+        if (protein.hasPositions()) {
 
             //get max/min width/height
             Node currentNode = protein.getStartNode();
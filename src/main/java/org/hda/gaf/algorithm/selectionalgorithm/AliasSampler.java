@@ -0,0 +1,154 @@
+package org.hda.gaf.algorithm.selectionalgorithm;
+
+import java.util.SplittableRandom;
+
+/**
+ * Draws indices with a probability proportional to their weight in O(1), using Vose's alias method.
+ * The tables are built in O(n) and reused while the population doesn't grow.
+ */
+public class AliasSampler {
+
+    private int size;
+    private double totalWeight;
+    private double[] probability = new double[0];
+    private double[] cumulatedWeights = new double[0];
+    private int[] alias = new int[0];
+
+    private int[] small = new int[0];
+    private int[] large = new int[0];
+
+    /**
+     * Prepares sampling of the first size weights. Without any positive weight every index is equally likely.
+     */
+    public AliasSampler build(double[] weights, int size) {
+        prepare(size);
+
+        totalWeight = 0;
+        for (int i = 0; i < size; i++) {
+            totalWeight += weights[i];
+            cumulatedWeights[i] = totalWeight;
+        }
+
+        int smallAmount = 0;
+        int largeAmount = 0;
+        for (int i = 0; i < size; i++) {
+            probability[i] = totalWeight > 0 ? weights[i] * size / totalWeight : 1;
+            alias[i] = i;
+
+            if (probability[i] < 1) {
+                small[smallAmount++] = i;
+            } else {
+                large[largeAmount++] = i;
+            }
+        }
+
+        //every small column gets topped up by a large one
+        while (smallAmount > 0 && largeAmount > 0) {
+            int lessLikely = small[--smallAmount];
+            int moreLikely = large[--largeAmount];
+
+            alias[lessLikely] = moreLikely;
+            probability[moreLikely] = probability[moreLikely] + probability[lessLikely] - 1;
+
+            if (probability[moreLikely] < 1) {
+                small[smallAmount++] = moreLikely;
+            } else {
+                large[largeAmount++] = moreLikely;
+            }
+        }
+
+        //left overs are full columns up to rounding errors
+        while (largeAmount > 0) {
+            probability[large[--largeAmount]] = 1;
+        }
+        while (smallAmount > 0) {
+            probability[small[--smallAmount]] = 1;
+        }
+
+        return this;
+    }
+
+    private void prepare(int size) {
+        this.size = size;
+        if (size > probability.length) {
+            probability = new double[size];
+            cumulatedWeights = new double[size];
+            alias = new int[size];
+            small = new int[size];
+            large = new int[size];
+        }
+    }
+
+    public int sample(SplittableRandom rand) {
+        int column = rand.nextInt(size);
+        return rand.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    public int[] sample(SplittableRandom rand, int amount) {
+        int[] selection = new int[amount];
+        for (int i = 0; i < amount; i++) {
+            selection[i] = sample(rand);
+        }
+        return selection;
+    }
+
+    /**
+     * Stochastic universal sampling: amount equally spaced pointers with one random offset,
+     * so every index is picked floor or ceil of its expected amount of times. The picks are returned shuffled.
+     */
+    public static int[] sampleUniversally(double[] weights, int size, int amount, SplittableRandom rand) {
+        int[] selection = new int[amount];
+        new AliasSampler().build(weights, size).sampleUniversally(selection, 0, amount, rand);
+        return selection;
+    }
+
+    /**
+     * Stochastic universal sampling of the picks from index from to index to (exclusive) of the selection.
+     * Each pointer is found by a binary search over the weights cumulated by {@link #build(double[], int)},
+     * so sampling a few picks costs O(amount log n) instead of a sweep over all weights.
+     */
+    public void sampleUniversally(int[] selection, int from, int to, SplittableRandom rand) {
+        if (totalWeight <= 0) {
+            for (int i = from; i < to; i++) {
+                selection[i] = rand.nextInt(size);
+            }
+            return;
+        }
+
+        double distance = totalWeight / (to - from);
+        double pointer = rand.nextDouble() * distance;
+        int index = 0;
+
+        for (int i = from; i < to; i++) {
+            index = findPointer(pointer, index);
+            selection[i] = index;
+            pointer += distance;
+        }
+
+        shuffle(selection, from, to, rand);
+    }
+
+    //first index from the given one on whose cumulated weight lies behind the pointer
+    private int findPointer(double pointer, int from) {
+        int low = from;
+        int high = size - 1; //rounding errors can leave the pointer behind the last weight
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulatedWeights[middle] <= pointer) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static void shuffle(int[] values, int from, int to, SplittableRandom rand) {
+        for (int i = to - 1; i > from; i--) {
+            int j = from + rand.nextInt(i - from + 1);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+}
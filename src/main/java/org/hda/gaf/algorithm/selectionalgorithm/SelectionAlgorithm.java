@@ -1,40 +1,164 @@
 package org.hda.gaf.algorithm.selectionalgorithm;
 
 import org.hda.gaf.algorithm.Population;
-import org.hda.gaf.algorithm.evaluation.direction.RelativeDirection;
-import org.hda.gaf.algorithm.evaluation.node.Structure;
-import org.apache.commons.math3.distribution.EnumeratedDistribution;
-import org.apache.commons.math3.util.Pair;
+import org.hda.gaf.algorithm.WorkerPool;
+import org.hda.gaf.algorithm.genome.Genome;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.SplittableRandom;
 
 /**
  * Created by marcus on 09.06.16.
  */
 public abstract class SelectionAlgorithm {
 
-    public abstract void selectOnPopulation(Population population);
+    private static final ThreadLocal<Candidates> CANDIDATES = ThreadLocal.withInitial(Candidates::new);
 
-    protected List<Pair> buildWeightedStructures(List<Structure> structures, double totalFitness) {
-        return structures.stream().map(i -> new Pair(i, i.getAbsoluteFitness() / totalFitness)).collect(Collectors.toList());
+    private SplittableRandom rand = new SplittableRandom();
+    private final AliasSampler aliasSampler = new AliasSampler();
+    private boolean samplesUniversally;
+
+    private WorkerPool workerPool = WorkerPool.CALLING_THREAD;
+
+    /**
+     * Prepares the selection on the population once per generation, e.g. its alias table, and returns a picker
+     * that any chunk of picks can draw from with its own random stream, on any thread.
+     */
+    public abstract ChunkPicker prepareSelection(Population population);
+
+    /**
+     * Picks the indices of amount individuals to breed from, without building a genepool.
+     */
+    public int[] selectIndicesOnPopulation(Population population, int amount) {
+        return pickInChunks(amount, prepareSelection(population));
+    }
+
+    /**
+     * Picks the indices of the individuals that make up the next generation, without building its genepool.
+     */
+    public int[] selectIndicesOnPopulation(Population population) {
+        return selectIndicesOnPopulation(population, population.getStore().getSize());
     }
 
-    protected List<Structure> pickWeightedStructuresRandomly(List<Pair> weightedStructures, int amount) {
-        Object[] randomSelection = new EnumeratedDistribution(weightedStructures).sample(amount);
+    public void selectOnPopulation(Population population) {
+        buildGenepoolOfSelection(population, selectIndicesOnPopulation(population));
+    }
 
-        List<Structure> selection = Arrays.asList(Arrays.copyOf(randomSelection, randomSelection.length, Structure[].class));
+    /**
+     * Uses stochastic universal sampling instead of independent draws for fitness proportional picks, which lowers the variance
+     * of how often an individual gets picked. Every chunk of picks sweeps its own pointers.
+     */
+    public SelectionAlgorithm samplesUniversally(boolean samplesUniversally) {
+        this.samplesUniversally = samplesUniversally;
+        return this;
+    }
 
+    /**
+     * Seeds the random stream every chunk of picks splits its own stream from. With the same seed and thread amount the selection repeats.
+     */
+    public SelectionAlgorithm usesSeed(long seed) {
+        this.rand = new SplittableRandom(seed);
+        return this;
+    }
+
+    public SelectionAlgorithm usesWorkers(WorkerPool workerPool) {
+        this.workerPool = workerPool;
+        return this;
+    }
+
+    public interface ChunkPicker {
+
+        /**
+         * Fills the selection from index from to index to (exclusive) with picked indices of the population.
+         */
+        void pick(int[] selection, int from, int to, SplittableRandom rand);
+    }
+
+    /**
+     * Picks amount indices in chunks, on several threads if configured. Every chunk draws from its own stream,
+     * split from the seeded one in chunk order, so the result doesn't depend on which thread runs which chunk.
+     */
+    protected int[] pickInChunks(int amount, ChunkPicker chunkPicker) {
+        int[] selection = new int[amount];
+        workerPool.performInChunks(amount, (from, to) -> {
+            SplittableRandom chunkRandom = rand.split();
+            return () -> {
+                chunkPicker.pick(selection, from, to, chunkRandom);
+                return null;
+            };
+        }, "Selection");
         return selection;
     }
 
-    protected void buildGenepoolOfSelection(Population population, List<Structure> selection) {
-        List<List<RelativeDirection>> genepool = population.getGenepool();
+    protected ChunkPicker pickProportionally(double[] weights, int size) {
+        AliasSampler aliasSampler = this.aliasSampler.build(weights, size);
+        if (samplesUniversally) {
+            return aliasSampler::sampleUniversally;
+        }
+
+        return (selection, from, to, rand) -> {
+            for (int i = from; i < to; i++) {
+                selection[i] = aliasSampler.sample(rand);
+            }
+        };
+    }
+
+    /**
+     * Draws candidateAmount distinct random indices below size for a tournament, from the permutation of the current thread.
+     * The candidates are the first indices of the returned array and stay valid until the thread draws again.
+     */
+    protected static int[] drawCandidates(int size, int candidateAmount, SplittableRandom rand) {
+        return CANDIDATES.get().draw(size, candidateAmount, rand);
+    }
+
+    /**
+     * Every draw moves its candidates to the front by a partial Fisher-Yates shuffle, which the next draw undoes first.
+     * So every draw starts from the same permutation and only depends on its random stream, not on what the thread drew before.
+     */
+    private static class Candidates {
+
+        private int[] indices = new int[0];
+        private int[] drawnPositions = new int[0];
+        private int drawnAmount;
+
+        private int[] draw(int size, int candidateAmount, SplittableRandom rand) {
+            for (int i = drawnAmount - 1; i >= 0; i--) {
+                swap(i, drawnPositions[i]);
+            }
+
+            if (indices.length != size) {
+                indices = new int[size];
+                for (int i = 0; i < size; i++) {
+                    indices[i] = i;
+                }
+            }
+            if (drawnPositions.length < candidateAmount) {
+                drawnPositions = new int[candidateAmount];
+            }
+
+            for (int i = 0; i < candidateAmount; i++) {
+                drawnPositions[i] = i + rand.nextInt(size - i);
+                swap(i, drawnPositions[i]);
+            }
+            drawnAmount = candidateAmount;
+
+            return indices;
+        }
+
+        private void swap(int i, int j) {
+            int index = indices[i];
+            indices[i] = indices[j];
+            indices[j] = index;
+        }
+    }
+
+    protected void buildGenepoolOfSelection(Population population, int[] selection) {
+        List<Genome> oldGenepool = population.getGenepool();
+        List<Genome> genepool = new ArrayList<>(selection.length);
 
-        genepool.clear();
-        for (Structure structure : selection) {
-            genepool.add(structure.getRelativeDirections());
+        for (int index : selection) {
+            genepool.add(oldGenepool.get(index).descendantOf(index)); //picked multiple times -> must not share mutations
         }
 
         population.setGenepool(genepool);
@@ -1,13 +1,8 @@
 package org.hda.gaf.algorithm.selectionalgorithm;
 
 import org.hda.gaf.algorithm.Population;
-import org.hda.gaf.algorithm.evaluation.node.Structure;
-import org.apache.commons.math3.distribution.EnumeratedDistribution;
-import org.apache.commons.math3.util.Pair;
-
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
+import org.hda.gaf.algorithm.PopulationStore;
+import org.hda.gaf.algorithm.StatisticAccumulator;
 
 /**
  * Created by marcus on 09.06.16.
@@ -16,30 +11,24 @@ public class SigmaScalingSelectionAlgorithm extends SelectionAlgorithm {
 
     private final double c = 2;
 
-    public void selectOnPopulation(Population population) {
-
-        double totalAbsoluteFitness = 0.0;
+    public ChunkPicker prepareSelection(Population population) {
 
-        List<Structure> structures = population.getStructures();
+        PopulationStore store = population.getStore();
+        double[] fitness = store.getFitness();
+        double[] relativeFitness = store.getRelativeFitness();
+        int size = store.getSize();
 
-        for (Structure structure : structures) {
-            totalAbsoluteFitness += structure.getAbsoluteFitness();
+        StatisticAccumulator accumulator = population.getStatisticAccumulator();
+        if (accumulator == null || accumulator.getCount() != size) {
+            accumulator = StatisticAccumulator.of(store);
         }
 
-        double averageAbsoluteFitness = totalAbsoluteFitness / (double) structures.size();
+        double averageAbsoluteFitness = accumulator.getAverageFitness();
 
-        population.getStatistic().setTotalFitness(totalAbsoluteFitness);
+        population.getStatistic().setTotalFitness(accumulator.getTotalFitness());
         population.getStatistic().setAverageFitness(averageAbsoluteFitness);
 
-        double wert = 0.0;
-
-        for (Structure structure : structures) {
-            double in = structure.getAbsoluteFitness() - averageAbsoluteFitness;
-            wert += Math.pow(in, 2);
-        }
-
-        double wert2 = wert / (double) structures.size();
-        double variance = Math.sqrt(wert2);
+        double variance = Math.sqrt(accumulator.getFitnessVariance());
 
         double standardDeviation = Math.sqrt(variance);
 
@@ -63,10 +52,8 @@ public class SigmaScalingSelectionAlgorithm extends SelectionAlgorithm {
 //        }
 
 
-        for (Structure structure : structures) {
-            double fitness = structure.getAbsoluteFitness();
-
-            double wert3 = fitness - averageAbsoluteFitness;
+        for (int i = 0; i < size; i++) {
+            double wert3 = fitness[i] - averageAbsoluteFitness;
             double wert4 = c * standardDeviation;
 
             double wert5 = wert3 / wert4;
@@ -74,42 +61,25 @@ public class SigmaScalingSelectionAlgorithm extends SelectionAlgorithm {
             double expVal = wert5 + 1;
 
             if(expVal > 0.000000000000001){
-                structure.setRelativeFitness(expVal);
+                relativeFitness[i] = expVal;
             } else{
-                structure.setRelativeFitness(0.000000000000001);
+                relativeFitness[i] = 0.000000000000001;
             }
 
-            totalRelativeFitness += structure.getRelativeFitness();
+            totalRelativeFitness += relativeFitness[i];
         }
 
-        double averageRelativeFitness = totalRelativeFitness / (double) structures.size();
+        double averageRelativeFitness = totalRelativeFitness / (double) size;
 
         population.setTotalRelativeFitness(totalRelativeFitness);
         population.setAverageRelativeFitness(averageRelativeFitness);
 
-        selectFitnessProportional(population);
-    }
-
-
-    private void selectFitnessProportional(Population population) {
-        List<Pair> weightedStructures = buildWeightedStructures(population.getStructures(), population.getTotalRelativeFitness());
-
-        List<Structure> selection = pickWeightedStructuresRandomly(weightedStructures, weightedStructures.size());
-
-        buildGenepoolOfSelection(population, selection);
+        return selectFitnessProportional(population);
     }
 
-    @Override
-    protected List<Pair> buildWeightedStructures(List<Structure> structures, double totalRelativeFitness) {
-        return structures.stream().map(i -> new Pair(i, i.getRelativeFitness() / totalRelativeFitness)).collect(Collectors.toList());
-    }
-
-    @Override
-    protected List<Structure> pickWeightedStructuresRandomly(List<Pair> weightedStructures, int amount) {
-        Object[] randomSelection = new EnumeratedDistribution(weightedStructures).sample(amount);
-
-        List<Structure> selection = Arrays.asList(Arrays.copyOf(randomSelection, randomSelection.length, Structure[].class));
 
-        return selection;
+    private ChunkPicker selectFitnessProportional(Population population) {
+        PopulationStore store = population.getStore();
+        return pickProportionally(store.getRelativeFitness(), store.getSize());
     }
 }
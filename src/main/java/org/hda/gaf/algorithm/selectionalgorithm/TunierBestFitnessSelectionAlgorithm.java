@@ -1,46 +1,43 @@
 package org.hda.gaf.algorithm.selectionalgorithm;
 
 import org.hda.gaf.algorithm.Population;
-import org.hda.gaf.algorithm.evaluation.node.Structure;
-import org.apache.commons.math3.util.Pair;
-
-import java.time.Instant;
-import java.util.*;
+import org.hda.gaf.algorithm.PopulationStore;
 
 /**
  * Created by marcus on 12.06.16.
  */
 public class TunierBestFitnessSelectionAlgorithm extends SelectionAlgorithm {
 
-    private Random rand;
     private int candidateAmount;
 
     public TunierBestFitnessSelectionAlgorithm(int candidateAmount) {
-        rand = new Random(Instant.now().toEpochMilli());
-
         this.candidateAmount = candidateAmount;
     }
 
-    public void selectOnPopulation(Population population) {
-        List<Structure> structures = population.getStructures();
-        List<Structure> selectedStructures = new ArrayList<>(structures.size());
-
-        for (int i = 0; i < structures.size(); i++) {
-            Collections.shuffle(structures, rand);
-
-            List<Structure> candidates = structures.subList(0, candidateAmount);
+    public ChunkPicker prepareSelection(Population population) {
+        PopulationStore store = population.getStore();
+        int candidates = Math.min(candidateAmount, store.getSize());
+        double[] fitness = store.getFitness(); //a generation pipeline evaluates into swapped columns, these stay the parents' fitness
 
-            selectedStructures.add(selectByBestFitness(candidates));
-        }
-
-        population.setStructures(selectedStructures);
+        return (picks, from, to, rand) -> {
+            for (int i = from; i < to; i++) {
+                int[] indices = drawCandidates(store.getSize(), candidates, rand);
 
-        buildGenepoolOfSelection(population, selectedStructures);
+                picks[i] = selectByBestFitness(indices, candidates, fitness);
+            }
+        };
     }
 
-    private Structure selectByBestFitness(List<Structure> candidates) {
-        Optional<Structure> pickedStructure = candidates.stream().max(Comparator.comparing(Structure::getAbsoluteFitness));
+    //candidates are the first indices
+    private int selectByBestFitness(int[] indices, int candidates, double[] fitness) {
+        int pickedIndex = indices[0];
+
+        for (int i = 1; i < candidates; i++) {
+            if (fitness[indices[i]] > fitness[pickedIndex]) {
+                pickedIndex = indices[i];
+            }
+        }
 
-        return pickedStructure.orElse(null);
+        return pickedIndex;
     }
 }
@@ -1,50 +1,57 @@
 package org.hda.gaf.algorithm.selectionalgorithm;
 
 import org.hda.gaf.algorithm.Population;
-import org.hda.gaf.algorithm.evaluation.node.Structure;
-import org.apache.commons.math3.util.Pair;
+import org.hda.gaf.algorithm.PopulationStore;
 
-import java.time.Instant;
-import java.util.*;
+import java.util.SplittableRandom;
 
 /**
  * Created by marcus on 12.06.16.
  */
 public class TunierFitnessProportionalSelectionAlgorithm extends SelectionAlgorithm {
 
-    private Random rand;
     private int candidateAmount;
 
     public TunierFitnessProportionalSelectionAlgorithm(int candidateAmount) {
-        rand = new Random(Instant.now().toEpochMilli());
-
         this.candidateAmount = candidateAmount;
     }
 
-    public void selectOnPopulation(Population population) {
-        List<Structure> structures = population.getStructures();
-        List<Structure> selectedStructures = new ArrayList<>(structures.size());
-
-        for (int i = 0; i < structures.size(); i++) {
-            Collections.shuffle(structures, rand);
-
-            List<Structure> candidates = structures.subList(0, candidateAmount);
+    public ChunkPicker prepareSelection(Population population) {
+        PopulationStore store = population.getStore();
+        int candidates = Math.min(candidateAmount, store.getSize());
+        double[] fitness = store.getFitness(); //a generation pipeline evaluates into swapped columns, these stay the parents' fitness
 
-            double totalFitnessOfCandidates = candidates.stream().mapToDouble(Structure::getAbsoluteFitness).sum();
-
-            selectedStructures.add(selectWeightedRandom(candidates, totalFitnessOfCandidates));
-        }
+        return (picks, from, to, rand) -> {
+            for (int i = from; i < to; i++) {
+                int[] indices = drawCandidates(store.getSize(), candidates, rand);
 
-        population.setStructures(selectedStructures);
-
-        buildGenepoolOfSelection(population, selectedStructures);
+                picks[i] = selectWeightedRandom(indices, candidates, fitness, rand);
+            }
+        };
     }
 
-    private Structure selectWeightedRandom(List<Structure> candidates, double totalFitnessOfCandidates) {
-        List<Pair> weightedCandidates = buildWeightedStructures(candidates, totalFitnessOfCandidates);
+    //roulette over the first indices
+    private int selectWeightedRandom(int[] indices, int candidates, double[] fitness, SplittableRandom rand) {
+        double totalFitnessOfCandidates = 0;
+        for (int i = 0; i < candidates; i++) {
+            totalFitnessOfCandidates += fitness[indices[i]];
+        }
 
-        List<Structure> pickedStructure = pickWeightedStructuresRandomly(weightedCandidates, 1);//select one
+        if (totalFitnessOfCandidates <= 0) {
+            return indices[rand.nextInt(candidates)];
+        }
 
-        return pickedStructure.get(0);
+        double pointer = rand.nextDouble() * totalFitnessOfCandidates;
+        int pickedIndex = indices[0];
+        for (int i = 0; i < candidates; i++) {
+            if (fitness[indices[i]] > 0) {
+                pickedIndex = indices[i]; //rounding errors can leave the pointer behind the last candidate
+                pointer -= fitness[indices[i]];
+                if (pointer < 0) {
+                    break;
+                }
+            }
+        }
+        return pickedIndex;
     }
 }
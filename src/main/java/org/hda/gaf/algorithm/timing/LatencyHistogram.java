@@ -0,0 +1,102 @@
+package org.hda.gaf.algorithm.timing;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations in nanoseconds. Buckets double in width every 8 buckets,
+ * so a percentile is at most 12.5% above the real duration, while 496 buckets cover every positive long.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    public static final int BUCKET_AMOUNT = (Long.SIZE - 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_AMOUNT);
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long duration = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(duration));
+        max.accumulateAndGet(duration, Math::max);
+    }
+
+    static int bucketOf(long duration) {
+        if (duration < SUB_BUCKETS) {
+            return (int) duration;
+        }
+        int exponent = (Long.SIZE - 1) - Long.numberOfLeadingZeros(duration);
+        int subBucket = (int) (duration >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    //highest duration falling into the bucket
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int bucket = 0; bucket < BUCKET_AMOUNT; bucket++) {
+            count += counts.get(bucket);
+        }
+        return count;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Duration that the given fraction (e.g. 0.99) of the recorded durations doesn't exceed, up to the bucket width.
+     */
+    public long getPercentile(double fraction) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_AMOUNT; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(bucket), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Writes the counts of all buckets followed by the max into the target, e.g. to send them to another process.
+     */
+    public void writeTo(long[] target, int offset) {
+        for (int bucket = 0; bucket < BUCKET_AMOUNT; bucket++) {
+            target[offset + bucket] = counts.get(bucket);
+        }
+        target[offset + BUCKET_AMOUNT] = getMax();
+    }
+
+    /**
+     * Adds counts and max written by {@link #writeTo(long[], int)}.
+     */
+    public void addFrom(long[] source, int offset) {
+        for (int bucket = 0; bucket < BUCKET_AMOUNT; bucket++) {
+            counts.addAndGet(bucket, source[offset + bucket]);
+        }
+        max.accumulateAndGet(source[offset + BUCKET_AMOUNT], Math::max);
+    }
+
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKET_AMOUNT; bucket++) {
+            counts.set(bucket, 0);
+        }
+        max.set(0);
+    }
+}
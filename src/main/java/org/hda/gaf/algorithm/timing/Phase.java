@@ -0,0 +1,17 @@
+package org.hda.gaf.algorithm.timing;
+
+/**
+ * Parts of a generation whose durations are recorded by the {@link PhaseTimers}.
+ */
+public enum Phase {
+    SELECT,
+    CROSSOVER,
+    MUTATE,
+    EVALUATE,
+    PIPELINE, //select to evaluate block by block
+    BREED, //steady state batch
+    REPLACE, //steady state batch
+    HAMMING,
+    SAVE_RESULTS,
+    MPJ_EXCHANGE
+}
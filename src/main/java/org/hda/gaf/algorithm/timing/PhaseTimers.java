@@ -0,0 +1,100 @@
+package org.hda.gaf.algorithm.timing;
+
+import org.hda.gaf.DefaultOptions;
+
+/**
+ * Records how long every {@link Phase} of a generation takes, into one histogram per phase.
+ * Every genetic algorithm owns its timers, as the MPJ multicore device runs all processes as threads of one JVM.
+ * Timing is switched by a constant, so the timers are removed by the compiler when it is off:
+ * <pre>
+ * long start = phaseTimers.start();
+ * population.select();
+ * phaseTimers.stop(Phase.SELECT, start);
+ * </pre>
+ */
+public class PhaseTimers {
+
+    public static final boolean ENABLED = DefaultOptions.TIMES_PHASES;
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+
+    public PhaseTimers() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    public long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    public void stop(Phase phase, long start) {
+        if (ENABLED) {
+            histograms[phase.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records a duration that was measured anyway, e.g. for a flight recorder event.
+     */
+    public long record(Phase phase, long duration) {
+        if (ENABLED) {
+            histograms[phase.ordinal()].record(duration);
+        }
+        return duration;
+    }
+
+    public LatencyHistogram get(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /**
+     * Length of the array that {@link #writeTo(long[])} fills with the histograms of all phases.
+     */
+    public static int getSerializedLength() {
+        return PHASES.length * (LatencyHistogram.BUCKET_AMOUNT + 1);
+    }
+
+    public void writeTo(long[] target) {
+        for (Phase phase : PHASES) {
+            get(phase).writeTo(target, phase.ordinal() * (LatencyHistogram.BUCKET_AMOUNT + 1));
+        }
+    }
+
+    /**
+     * Builds timers of all phases from arrays written by {@link #writeTo(long[])}, e.g. by several processes.
+     */
+    public static PhaseTimers merge(Iterable<long[]> sources) {
+        PhaseTimers merged = new PhaseTimers();
+        for (Phase phase : PHASES) {
+            for (long[] source : sources) {
+                merged.get(phase).addFrom(source, phase.ordinal() * (LatencyHistogram.BUCKET_AMOUNT + 1));
+            }
+        }
+        return merged;
+    }
+
+    public void printReport(String title) {
+        System.out.println(title + ":");
+        for (Phase phase : PHASES) {
+            LatencyHistogram histogram = get(phase);
+            if (histogram.getCount() > 0) {
+                System.out.println(String.format("  %-13s n=%-7d p50=%9.3f ms  p99=%9.3f ms  max=%9.3f ms",
+                        phase.name().toLowerCase(), histogram.getCount(), toMillis(histogram.getPercentile(0.5)),
+                        toMillis(histogram.getPercentile(0.99)), toMillis(histogram.getMax())));
+            }
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+}
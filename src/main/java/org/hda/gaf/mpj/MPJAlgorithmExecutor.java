@@ -1,12 +1,11 @@
 package org.hda.gaf.mpj;
 
 import org.hda.gaf.algorithm.Population;
-import org.hda.gaf.algorithm.evaluation.direction.RelativeDirection;
 import org.hda.gaf.algorithm.geneticalgorithm.GeneticAlgorithm;
+import org.hda.gaf.algorithm.timing.Phase;
+import org.hda.gaf.algorithm.timing.PhaseTimers;
 
-import java.util.Collections;
-import java.util.List;
-
+import static org.hda.gaf.DefaultOptions.MPJ_POPULATION_EXCHANGE_TIMES;
 import static org.hda.gaf.DefaultOptions.POPULATION_AMOUNT;
 
 public class MPJAlgorithmExecutor {
@@ -18,18 +17,24 @@ public class MPJAlgorithmExecutor {
     public static Population executeAlgorithm(GeneticAlgorithm geneticAlgorithm, int rank, int size) {
 
         Population population = geneticAlgorithm.generateStartPopulation();
+        PhaseTimers phaseTimers = geneticAlgorithm.getPhaseTimers();
 
-        int nextNeighbor = (rank + 1) % size;
-        int prevNeighbor = (rank + size - 1) % size;
         int individualAmountToSend = POPULATION_AMOUNT / 5;
 
-        for (int i = 0; i < 5; i++) {
-            population = geneticAlgorithm.runAlgorithm(population);
+        //emigrants after the last run couldn't be merged anymore
+        MPJPopulationSharer sharer = null;
+        if (size > 1) {
+            sharer = new MPJPopulationSharer(rank, size, individualAmountToSend, MPJ_POPULATION_EXCHANGE_TIMES - 1);
+            geneticAlgorithm.migratesWith(sharer);
+        }
 
-            if (size > 1) {
-                List<List<RelativeDirection>> neighborGenepool = MPJPopulationSharer.shareAndReceiveNeighborPool(rank, nextNeighbor, prevNeighbor, individualAmountToSend, population);
+        for (int i = 0; i < MPJ_POPULATION_EXCHANGE_TIMES; i++) {
+            population = geneticAlgorithm.runAlgorithm(population);
 
-                addAndReplaceNeighborGenes(population, neighborGenepool);
+            if (sharer != null && i < MPJ_POPULATION_EXCHANGE_TIMES - 1) {
+                long start = phaseTimers.start();
+                sharer.emigrate(population);
+                phaseTimers.stop(Phase.MPJ_EXCHANGE, start);
             }
 
             if (rank == 0) {
@@ -37,16 +42,17 @@ public class MPJAlgorithmExecutor {
             }
         }
 
+        if (sharer != null) {
+            long start = phaseTimers.start();
+            sharer.finish();
+            phaseTimers.stop(Phase.MPJ_EXCHANGE, start);
+        }
+
         MPJStatisticsSharer.shareStatistics(population, rank, size);
+        if (PhaseTimers.ENABLED) {
+            MPJTimingSharer.shareTimings(phaseTimers, rank, size);
+        }
 
         return population;
     }
-
-    private static void addAndReplaceNeighborGenes(Population population, List<List<RelativeDirection>> neighborGenepool) {
-        List<List<RelativeDirection>> genepool = population.getGenepool();
-        for (List<RelativeDirection> genom : neighborGenepool) {
-            genepool.remove(0);
-            genepool.add(genom);
-        }
-    }
 }
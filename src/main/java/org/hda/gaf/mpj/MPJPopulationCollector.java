@@ -2,16 +2,17 @@ package org.hda.gaf.mpj;
 
 import mpi.MPI;
 import org.hda.gaf.algorithm.Population;
-import org.hda.gaf.algorithm.evaluation.direction.RelativeDirection;
-
-import java.util.List;
-import java.util.stream.Collectors;
+import org.hda.gaf.algorithm.genome.Genome;
+import org.hda.gaf.algorithm.monitoring.CollectionRecord;
+import org.hda.gaf.algorithm.monitoring.FlightRecorder;
 
 import static org.hda.gaf.DefaultOptions.PRIMARY_SEQUENCE;
 
 public class MPJPopulationCollector {
 
     public static Population collectPopulationWithBestProteins(int rank, int size, Population population) {
+        CollectionRecord record = FlightRecorder.beginCollection();
+        double bestFitness = population.getBestProtein().getAbsoluteFitness();
 
         System.out.println("Rank " + rank + ", best protein of has valid neighbors: " + population.getBestProtein().getValidNeighborCount()
                 + " with overlaps: " + population.getBestProtein().getOverlappCounter());
@@ -19,18 +20,17 @@ public class MPJPopulationCollector {
 
         if (rank == 0) {
             Population bestPopulation = new Population(size);
-            bestPopulation.addGensToGenpool(population.getBestProtein().getRelativeDirections());
+            bestPopulation.addGensToGenpool(population.getBestProtein().getGenome());
 
             if (size > 1) {
-                for (int from = 1; from < size; from++) {
-                    String[] receive = new String[1];
+                byte[] receive = new byte[Genome.bytesFor(MPJPopulationSharer.GENOME_SIZE)];
 
-                    MPI.COMM_WORLD.Recv(receive, 0, 1, MPI.OBJECT, from, 0);
+                for (int from = 1; from < size; from++) {
+                    long start = System.nanoTime();
+                    MPI.COMM_WORLD.Recv(receive, 0, receive.length, MPI.BYTE, from, 0);
+                    record.received(receive.length, System.nanoTime() - start);
 
-                    List<RelativeDirection> receivedProtein = receive[0].chars()
-                            .mapToObj(i -> (char) i)
-                            .map(RelativeDirection::fromChar)
-                            .collect(Collectors.toList());
+                    Genome receivedProtein = Genome.readFrom(receive, 0, MPJPopulationSharer.GENOME_SIZE);
 
                     bestPopulation.addGensToGenpool(receivedProtein);
                 }
@@ -42,17 +42,20 @@ public class MPJPopulationCollector {
 
             System.out.println("Received a new best protein: " + bestPopulation.getBestProtein().getValidNeighborCount());
 
+            record.commitFor(rank, bestFitness);
+
             return bestPopulation;
 
         } else {
-            String[] send = new String[1];
-            send[0] = population.getBestProtein().getRelativeDirections()
-                    .stream()
-                    .map(RelativeDirection::getCharacter)
-                    .map(Object::toString)
-                    .collect(Collectors.joining());
-
-            MPI.COMM_WORLD.Send(send, 0, 1, MPI.OBJECT, 0, 0);
+            Genome bestGenome = population.getBestProtein().getGenome();
+            byte[] send = new byte[Genome.bytesFor(bestGenome.size())];
+            bestGenome.writeTo(send, 0);
+
+            long start = System.nanoTime();
+            MPI.COMM_WORLD.Send(send, 0, send.length, MPI.BYTE, 0, 0);
+            record.sent(send.length, System.nanoTime() - start);
+
+            record.commitFor(rank, bestFitness);
 
             return null;
         }
@@ -1,65 +1,140 @@
 package org.hda.gaf.mpj;
 
-import com.google.common.base.Splitter;
 import mpi.MPI;
+import mpi.Request;
+import mpi.Status;
 import org.hda.gaf.algorithm.Population;
-import org.hda.gaf.algorithm.evaluation.direction.RelativeDirection;
+import org.hda.gaf.algorithm.genome.Genome;
+import org.hda.gaf.algorithm.genome.GenomeCodec;
+import org.hda.gaf.algorithm.geneticalgorithm.Migration;
+import org.hda.gaf.algorithm.monitoring.FlightRecorder;
+import org.hda.gaf.algorithm.monitoring.MigrationRecord;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 import static org.hda.gaf.DefaultOptions.PRIMARY_SEQUENCE;
 
-public class MPJPopulationSharer {
+/**
+ * Exchanges individuals in a ring without waiting for the neighbors: emigrants are sent with Isend while the evolution goes on,
+ * and the receive from the previous neighbor is always posted, so its immigrants are merged at the first generation boundary after they arrived.
+ */
+public class MPJPopulationSharer implements Migration {
 
+    //genomes have one direction less than the sequence has amino acids
+    static final int GENOME_SIZE = PRIMARY_SEQUENCE.length() - 1;
 
-    public static List<List<RelativeDirection>> shareAndReceiveNeighborPool(int rank, int nextNeighbor, int prevNeighbor, int individualAmountToSend, Population population) {
-        List<List<RelativeDirection>> neighborGenepool;
+    private static final int MIGRATION_TAG = 2; //statistics and timings use 0 and 1
 
-        if (rank == 0) {
-            sendPoolToNeighbor(nextNeighbor, individualAmountToSend, population);
-            neighborGenepool = receivePoolFromNeighbor(prevNeighbor);
-        } else {
-            neighborGenepool = receivePoolFromNeighbor(prevNeighbor);
-            sendPoolToNeighbor(nextNeighbor, individualAmountToSend, population);
+    private final int rank;
+    private final int nextNeighbor;
+    private final int prevNeighbor;
+    private final int individualAmountToSend;
+
+    private final GenomeCodec sendCodec = new GenomeCodec(GENOME_SIZE);
+    private final GenomeCodec receiveCodec = new GenomeCodec(GENOME_SIZE);
+    private final SplittableRandom rand = new SplittableRandom();
+
+    private Request sendRequest;
+    private Request receiveRequest;
+    private byte[] receiveBuffer;
+    private int remainingReceives;
+
+    /**
+     * Every process sends the given amount of migrations, so the same amount is received from the previous neighbor.
+     */
+    public MPJPopulationSharer(int rank, int size, int individualAmountToSend, int migrations) {
+        this.rank = rank;
+        this.nextNeighbor = (rank + 1) % size;
+        this.prevNeighbor = (rank + size - 1) % size;
+        this.individualAmountToSend = individualAmountToSend;
+        this.remainingReceives = migrations;
+
+        postReceive();
+    }
+
+    private void postReceive() {
+        if (remainingReceives == 0) {
+            receiveRequest = null;
+            return;
         }
-        return neighborGenepool;
+        remainingReceives--;
+
+        receiveBuffer = receiveCodec.bufferFor(individualAmountToSend);
+        receiveRequest = MPI.COMM_WORLD.Irecv(receiveBuffer, 0, receiveBuffer.length, MPI.BYTE, prevNeighbor, MIGRATION_TAG);
     }
 
-    private static void sendPoolToNeighbor(int to, int individualAmountToSend, Population population) {
-        List<List<RelativeDirection>> genepool = population.getGenepool();
+    /**
+     * Sends random individuals to the next neighbor and returns without waiting for it.
+     */
+    public void emigrate(Population population) {
+        MigrationRecord record = FlightRecorder.beginMigration();
 
-        Collections.shuffle(genepool);
+        long start = System.nanoTime();
+        if (sendRequest != null) {
+            sendRequest.Wait(); //the buffer still holds the previous emigrants until they are sent
+        }
+        long waitNanos = System.nanoTime() - start;
 
-        String genePoolInStrings = genepool.stream().limit(individualAmountToSend)
-                .map(relativeDirections ->
-                        relativeDirections.stream()
-                                .map(RelativeDirection::getCharacter)
-                                .map(Object::toString)
-                                .collect(Collectors.joining()))
-                .collect(Collectors.joining());
+        List<Genome> genepool = population.getGenepool();
+        int[] indices = IntStream.range(0, genepool.size()).toArray();
+        List<Genome> emigrants = new ArrayList<>(Math.min(individualAmountToSend, indices.length));
+        for (int i = 0; i < Math.min(individualAmountToSend, indices.length); i++) {
+            int swap = i + rand.nextInt(indices.length - i);
+            emigrants.add(genepool.get(indices[swap]));
+            indices[swap] = indices[i];
+        }
 
-        String[] send = new String[1];
-        send[0] = genePoolInStrings;
+        byte[] send = sendCodec.encode(emigrants);
+        int length = emigrants.size() * sendCodec.getBytesPerGenome();
+        sendRequest = MPI.COMM_WORLD.Isend(send, 0, length, MPI.BYTE, nextNeighbor, MIGRATION_TAG);
 
-        MPI.COMM_WORLD.Send(send, 0, 1, MPI.OBJECT, to, 0);
+        record.sent(emigrants.size(), length, waitNanos);
+        record.commitFor(rank, nextNeighbor, prevNeighbor);
     }
 
-    private static List<List<RelativeDirection>> receivePoolFromNeighbor(int from) {
-        String[] receive = new String[1];
-        MPI.COMM_WORLD.Recv(receive, 0, 1, MPI.OBJECT, from, 0);
+    @Override
+    public List<Genome> pollImmigrants() {
+        if (receiveRequest == null) {
+            return Collections.emptyList();
+        }
 
-        int singleSequenceSize = PRIMARY_SEQUENCE.length();
-        Iterable<String> splittedGenepool = Splitter.fixedLength(singleSequenceSize).split(receive[0]);
+        Status status = receiveRequest.Test();
+        if (status == null) {
+            return Collections.emptyList();
+        }
+        return takeImmigrants(status, 0);
+    }
+
+    private List<Genome> takeImmigrants(Status status, long waitNanos) {
+        MigrationRecord record = FlightRecorder.beginMigration();
 
-        return StreamSupport.stream(splittedGenepool.spliterator(), true)
-                .map(singleGenom ->
-                        singleGenom.chars()
-                                .mapToObj(i -> (char) i)
-                                .map(RelativeDirection::fromChar)
-                                .collect(Collectors.toList()))
-                .collect(Collectors.toList());
+        int length = status.Get_count(MPI.BYTE);
+        List<Genome> immigrants = receiveCodec.decode(receiveBuffer, length);
+        postReceive();
+
+        record.received(immigrants.size(), length, waitNanos);
+        record.commitFor(rank, nextNeighbor, prevNeighbor);
+        return immigrants;
+    }
+
+    /**
+     * Waits until the own emigrants are sent and all immigrants are received, so no message is left when MPI is finalized.
+     * Immigrants arriving now come too late to be merged and are dropped.
+     */
+    public void finish() {
+        while (receiveRequest != null) {
+            long start = System.nanoTime();
+            Status status = receiveRequest.Wait();
+            takeImmigrants(status, System.nanoTime() - start);
+        }
+
+        if (sendRequest != null) {
+            sendRequest.Wait();
+            sendRequest = null;
+        }
     }
 }
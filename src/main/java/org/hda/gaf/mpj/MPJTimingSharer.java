@@ -0,0 +1,37 @@
+package org.hda.gaf.mpj;
+
+import mpi.MPI;
+import org.hda.gaf.algorithm.timing.PhaseTimers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MPJTimingSharer {
+
+    /**
+     * Prints the phase durations of every process and lets rank 0 print them merged over all processes.
+     */
+    public static void shareTimings(PhaseTimers phaseTimers, int rank, int size) {
+        long[] localTimings = new long[PhaseTimers.getSerializedLength()];
+        phaseTimers.writeTo(localTimings);
+
+        phaseTimers.printReport("Phase durations of process " + rank);
+
+        if (rank == 0) {
+            List<long[]> timings = new ArrayList<>(size);
+            timings.add(localTimings);
+
+            for (int from = 1; from < size; from++) {
+                long[] receive = new long[localTimings.length];
+
+                MPI.COMM_WORLD.Recv(receive, 0, receive.length, MPI.LONG, from, 1);
+
+                timings.add(receive);
+            }
+
+            PhaseTimers.merge(timings).printReport("Phase durations of all " + size + " processes");
+        } else {
+            MPI.COMM_WORLD.Send(localTimings, 0, localTimings.length, MPI.LONG, 0, 1);
+        }
+    }
+}
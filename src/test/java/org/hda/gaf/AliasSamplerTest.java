@@ -0,0 +1,72 @@
+package org.hda.gaf;
+
+import org.hda.gaf.algorithm.selectionalgorithm.AliasSampler;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class AliasSamplerTest {
+
+    private static final double[] WEIGHTS = {1, 0, 3, 6, 0.5, 9.5};
+    private static final double TOTAL_WEIGHT = 20;
+
+    private final SplittableRandom rand = new SplittableRandom(42);
+
+    @Test
+    public void drawsProportionallyToWeights() {
+        int amount = 200000;
+        int[] picks = countPicks(new AliasSampler().build(WEIGHTS, WEIGHTS.length).sample(rand, amount), WEIGHTS.length);
+
+        for (int i = 0; i < WEIGHTS.length; i++) {
+            assertThat((double) picks[i] / amount).isCloseTo(WEIGHTS[i] / TOTAL_WEIGHT, within(0.005));
+        }
+    }
+
+    @Test
+    public void drawsUniformlyWithoutPositiveWeights() {
+        int amount = 60000;
+        int[] picks = countPicks(new AliasSampler().build(new double[]{0, 0, 0}, 3).sample(rand, amount), 3);
+
+        for (int pick : picks) {
+            assertThat((double) pick / amount).isCloseTo(1.0 / 3, within(0.01));
+        }
+    }
+
+    @Test
+    public void universalSamplingPicksExpectedAmountRoundedUpOrDown() {
+        int amount = 40;
+        int[] picks = countPicks(AliasSampler.sampleUniversally(WEIGHTS, WEIGHTS.length, amount, rand), WEIGHTS.length);
+
+        for (int i = 0; i < WEIGHTS.length; i++) {
+            double expectedPicks = WEIGHTS[i] / TOTAL_WEIGHT * amount;
+            assertThat(picks[i]).isBetween((int) Math.floor(expectedPicks), (int) Math.ceil(expectedPicks));
+        }
+    }
+
+    @Test
+    public void universalSamplingOfBlockOnlyFillsBlock() {
+        int[] selection = new int[60];
+        new AliasSampler().build(WEIGHTS, WEIGHTS.length).sampleUniversally(selection, 20, 60, rand);
+
+        int[] picks = countPicks(Arrays.copyOfRange(selection, 20, 60), WEIGHTS.length);
+        for (int i = 0; i < WEIGHTS.length; i++) {
+            double expectedPicks = WEIGHTS[i] / TOTAL_WEIGHT * 40;
+            assertThat(picks[i]).isBetween((int) Math.floor(expectedPicks), (int) Math.ceil(expectedPicks));
+        }
+        for (int i = 0; i < 20; i++) {
+            assertThat(selection[i]).isZero();
+        }
+    }
+
+    private int[] countPicks(int[] selection, int size) {
+        int[] picks = new int[size];
+        for (int index : selection) {
+            picks[index]++;
+        }
+        return picks;
+    }
+}
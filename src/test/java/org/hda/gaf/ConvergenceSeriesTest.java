@@ -0,0 +1,47 @@
+package org.hda.gaf;
+
+import org.hda.gaf.algorithm.output.ConvergenceSeries;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConvergenceSeriesTest {
+
+    @Test
+    public void keepsEveryValueWhileBucketsAreLeft() {
+        ConvergenceSeries convergenceSeries = new ConvergenceSeries(16, "first", "second");
+        for (int generation = 0; generation < 10; generation++) {
+            convergenceSeries.add(generation, generation * 2, -generation);
+        }
+
+        XYSeriesCollection dataset = convergenceSeries.toDataset();
+
+        assertThat(dataset.getSeriesCount()).isEqualTo(2);
+        for (int generation = 0; generation < 10; generation++) {
+            assertThat(dataset.getSeries(0).getX(generation).intValue()).isEqualTo(generation);
+            assertThat(dataset.getSeries(0).getY(generation).doubleValue()).isEqualTo(generation * 2);
+            assertThat(dataset.getSeries(1).getY(generation).doubleValue()).isEqualTo(-generation);
+        }
+    }
+
+    @Test
+    public void staysBoundedAndKeepsPeaksOfLongRuns() {
+        ConvergenceSeries convergenceSeries = new ConvergenceSeries(64, "value");
+        for (int generation = 0; generation < 100000; generation++) {
+            double value = generation == 31337 ? 1000 : generation == 77777 ? -1000 : Math.sin(generation);
+            convergenceSeries.add(generation, value);
+        }
+
+        XYSeries series = convergenceSeries.toDataset().getSeries(0);
+
+        assertThat(convergenceSeries.getBucketAmount()).isLessThanOrEqualTo(64);
+        assertThat(series.getItemCount()).isLessThanOrEqualTo(128);
+        assertThat(series.getMaxY()).isEqualTo(1000);
+        assertThat(series.getMinY()).isEqualTo(-1000);
+        for (int i = 1; i < series.getItemCount(); i++) {
+            assertThat(series.getX(i).intValue()).isGreaterThan(series.getX(i - 1).intValue());
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package org.hda.gaf;
 
 import org.hda.gaf.algorithm.crossover.CrossoverAlgorithm;
-import org.hda.gaf.algorithm.evaluation.direction.RelativeDirection;
+import org.hda.gaf.algorithm.genome.Genome;
 import org.junit.Test;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.hda.gaf.algorithm.evaluation.direction.RelativeDirection.LEFT;
 import static org.hda.gaf.algorithm.evaluation.direction.RelativeDirection.RIGHT;
@@ -22,9 +22,9 @@ public class CrossoverAlgorithmTest {
         float crossoverRate = 0.5F;
         int populationSize = 2;
 
-        List<List<RelativeDirection>> genepool = new ArrayList<>();
-        genepool.add(Arrays.asList(RIGHT, RIGHT));
-        genepool.add(Arrays.asList(LEFT, LEFT));
+        List<Genome> genepool = new ArrayList<>();
+        genepool.add(Genome.of(RIGHT, RIGHT));
+        genepool.add(Genome.of(LEFT, LEFT));
 
         CrossoverAlgorithm crossoverAlgorithm = new CrossoverAlgorithm(crossoverRate, populationSize);
         genepool = crossoverAlgorithm.crossoverGenepoolOfPopulation(genepool);
@@ -32,7 +32,7 @@ public class CrossoverAlgorithmTest {
         boolean firstChildCorrect = false;
         boolean secondChildCorrect = false;
 
-        for (List<RelativeDirection> child : genepool) {
+        for (Genome child : genepool) {
             assertThat(child.size()).isEqualTo(2);
             if (LEFT.equals(child.get(0))) {
                 assertThat(child.get(1)).isEqualTo(RIGHT);
@@ -47,6 +47,38 @@ public class CrossoverAlgorithmTest {
         assertThat(firstChildCorrect && secondChildCorrect).isTrue();
     }
 
+    @Test
+    public void everyTypeKeepsGenesOfEveryLocus() {
+        Random rand = new Random(3);
+        for (CrossoverAlgorithm.Type type : CrossoverAlgorithm.Type.values()) {
+            List<Genome> genepool = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                Genome genome = new Genome(70);
+                for (int gene = 0; gene < genome.size(); gene++) {
+                    genome.setCode(gene, rand.nextInt(3));
+                }
+                genepool.add(genome.descendantOf(i));
+            }
+            int[][] codesPerLocus = countCodesPerLocus(genepool);
+
+            genepool = new CrossoverAlgorithm(0.5F, genepool.size()).usesType(type).crossoverGenepoolOfPopulation(genepool);
+
+            assertThat(genepool).hasSize(100);
+            assertThat(countCodesPerLocus(genepool)).isEqualTo(codesPerLocus);
+            assertThat(genepool.stream().filter(genome -> !genome.isUnchanged()).count()).isBetween(1L, 50L);
+        }
+    }
+
+    private int[][] countCodesPerLocus(List<Genome> genepool) {
+        int[][] codesPerLocus = new int[genepool.get(0).size()][3];
+        for (Genome genome : genepool) {
+            for (int gene = 0; gene < genome.size(); gene++) {
+                codesPerLocus[gene][genome.getCode(gene)]++;
+            }
+        }
+        return codesPerLocus;
+    }
+
     @Test
     public void crossoverAmount() {
         //Doesnt work 100%, because Lists are compared, not equaled...
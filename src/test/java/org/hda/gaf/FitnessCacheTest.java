@@ -0,0 +1,106 @@
+package org.hda.gaf;
+
+import org.hda.gaf.algorithm.Population;
+import org.hda.gaf.algorithm.PopulationGenerator;
+import org.hda.gaf.algorithm.evaluation.FitnessCache;
+import org.hda.gaf.algorithm.evaluation.FitnessCalculator;
+import org.hda.gaf.algorithm.examples.Examples;
+import org.hda.gaf.algorithm.genome.Genome;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hda.gaf.algorithm.evaluation.direction.RelativeDirection.*;
+
+public class FitnessCacheTest {
+
+    @Test
+    public void evictsLeastRecentlyUsedGenome() {
+        FitnessCache fitnessCache = new FitnessCache(2);
+        Genome first = Genome.of(LEFT, LEFT);
+        Genome second = Genome.of(RIGHT, RIGHT);
+        Genome third = Genome.of(STRAIGHT, STRAIGHT);
+
+        fitnessCache.put(first, 1, 1, 0, 0);
+        fitnessCache.put(second, 2, 2, 0, 0);
+        assertThat(fitnessCache.get(first).getFitness()).isEqualTo(1);
+
+        fitnessCache.put(third, 3, 3, 0, 0);
+
+        assertThat(fitnessCache.get(second)).isNull();
+        assertThat(fitnessCache.get(first)).isNotNull();
+        assertThat(fitnessCache.get(third).getContacts()).isEqualTo(3);
+        assertThat(fitnessCache.size()).isEqualTo(2);
+        assertThat(fitnessCache.getHits()).isEqualTo(3);
+        assertThat(fitnessCache.getMisses()).isEqualTo(1);
+        assertThat(fitnessCache.getEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    public void keepsGenomeAsItWasWhenCached() {
+        FitnessCache fitnessCache = new FitnessCache(2);
+        Genome genome = Genome.of(LEFT, LEFT);
+
+        fitnessCache.put(genome, 1, 1, 0, 0);
+        genome.set(0, RIGHT);
+
+        assertThat(fitnessCache.get(genome)).isNull();
+        assertThat(fitnessCache.get(Genome.of(LEFT, LEFT))).isNotNull();
+    }
+
+    @Test
+    public void cachedResultsEqualEvaluatedResults() {
+        String primarySequence = Examples.SEQ50;
+        Population population = new PopulationGenerator(primarySequence.length(), 100).generateStartPopulation();
+        FitnessCalculator fitnessCalculator = new FitnessCalculator(primarySequence).usesFoldingKernel(true).cachesFitness(1000);
+
+        fitnessCalculator.calculateFitnessOfPopulation(population);
+        double[] expectedFitness = population.getStore().getFitness().clone();
+        fitnessCalculator.calculateFitnessOfPopulation(population);
+
+        assertThat(population.getStore().getFitness()).isEqualTo(expectedFitness);
+        assertThat(fitnessCalculator.getFitnessCache().getHits()).isEqualTo(100);
+    }
+
+    @Test
+    public void segmentsStayWithinCapacityWhenSharedByThreads() throws InterruptedException {
+        FitnessCache fitnessCache = new FitnessCache(1000);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t * 2000;
+            threads.add(new Thread(() -> {
+                for (int i = offset; i < offset + 2000; i++) {
+                    Genome genome = distinctGenome(i);
+                    fitnessCache.put(genome, i, 0, 0, 0);
+                    fitnessCache.get(genome); //may already be evicted by another thread
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(fitnessCache.getSegmentAmount()).isEqualTo(8);
+        assertThat(fitnessCache.size()).isLessThanOrEqualTo(1000).isGreaterThan(900);
+        assertThat(fitnessCache.size() + fitnessCache.getEvictions()).isEqualTo(8000);
+        assertThat(fitnessCache.getHits() + fitnessCache.getMisses()).isEqualTo(8000);
+
+        fitnessCache.put(distinctGenome(9000), 9000, 0, 0, 0);
+        assertThat(fitnessCache.get(distinctGenome(9000)).getFitness()).isEqualTo(9000);
+        assertThat(fitnessCache.size()).isLessThanOrEqualTo(1000);
+    }
+
+    //base 3 digits of the number as directions
+    private static Genome distinctGenome(int number) {
+        Genome genome = new Genome(12);
+        for (int i = 0; i < genome.size(); i++) {
+            genome.setCode(i, number % 3);
+            number /= 3;
+        }
+        return genome;
+    }
+}
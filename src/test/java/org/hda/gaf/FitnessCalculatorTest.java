@@ -0,0 +1,97 @@
+package org.hda.gaf;
+
+import org.hda.gaf.algorithm.Population;
+import org.hda.gaf.algorithm.PopulationGenerator;
+import org.hda.gaf.algorithm.WorkerPool;
+import org.hda.gaf.algorithm.evaluation.FitnessCalculator;
+import org.hda.gaf.algorithm.examples.Examples;
+import org.hda.gaf.algorithm.genome.Genome;
+import org.hda.gaf.algorithm.selectionalgorithm.TunierBestFitnessSelectionAlgorithm;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FitnessCalculatorTest {
+
+    private static final String PRIMARY_SEQUENCE = Examples.SEQ50;
+
+    @Test
+    public void parallelEvaluationKeepsGenepoolOrder() {
+        Population population = new PopulationGenerator(PRIMARY_SEQUENCE.length(), 500).generateStartPopulation();
+
+        new FitnessCalculator(PRIMARY_SEQUENCE).calculateFitnessOfPopulation(population);
+        double[] expectedFitness = population.getStore().getFitness().clone();
+        int[] expectedContacts = population.getStore().getContacts().clone();
+        int[] expectedOverlaps = population.getStore().getOverlaps().clone();
+
+        try (WorkerPool workerPool = new WorkerPool(4)) {
+            new FitnessCalculator(PRIMARY_SEQUENCE).usesFoldingKernel(true).usesWorkers(workerPool).calculateFitnessOfPopulation(population);
+        }
+
+        assertThat(population.getStore().getFitness()).isEqualTo(expectedFitness);
+        assertThat(population.getStore().getContacts()).isEqualTo(expectedContacts);
+        assertThat(population.getStore().getOverlaps()).isEqualTo(expectedOverlaps);
+    }
+
+    @Test
+    public void sharedFoldPrefixesGiveSameResultsAsFullFolding() {
+        Population population = new PopulationGenerator(PRIMARY_SEQUENCE.length(), 200).generateStartPopulation();
+        population.setSelectionAlgorithm(new TunierBestFitnessSelectionAlgorithm(20));
+
+        FitnessCalculator sharingCalculator = new FitnessCalculator(PRIMARY_SEQUENCE).usesFoldingKernel(true).sharesFoldPrefixes(4);
+        FitnessCalculator foldingCalculator = new FitnessCalculator(PRIMARY_SEQUENCE).usesFoldingKernel(true);
+
+        for (int generation = 0; generation < 10; generation++) {
+            sharingCalculator.calculateFitnessOfPopulation(population);
+            double[] sharedFitness = population.getStore().getFitness().clone();
+            int[] sharedContacts = population.getStore().getContacts().clone();
+            int[] sharedDirectContacts = population.getStore().getDirectContacts().clone();
+            int[] sharedOverlaps = population.getStore().getOverlaps().clone();
+
+            foldingCalculator.calculateFitnessOfPopulation(population);
+
+            assertThat(sharedFitness).isEqualTo(population.getStore().getFitness());
+            assertThat(sharedContacts).isEqualTo(population.getStore().getContacts());
+            assertThat(sharedDirectContacts).isEqualTo(population.getStore().getDirectContacts());
+            assertThat(sharedOverlaps).isEqualTo(population.getStore().getOverlaps());
+
+            population.select();
+            population.crossover(0.5F);
+            population.mutate(0.02F);
+        }
+    }
+
+    @Test
+    public void unchangedGenomesTakeOverResultsOfTheirOrigin() {
+        Population population = new PopulationGenerator(PRIMARY_SEQUENCE.length(), 200).generateStartPopulation();
+        population.setSelectionAlgorithm(new TunierBestFitnessSelectionAlgorithm(20));
+
+        FitnessCalculator skippingCalculator = new FitnessCalculator(PRIMARY_SEQUENCE).usesFoldingKernel(true)
+                .skipsUnchangedGenomes(true).sharesFoldPrefixes(4);
+        FitnessCalculator foldingCalculator = new FitnessCalculator(PRIMARY_SEQUENCE).usesFoldingKernel(true);
+
+        skippingCalculator.calculateFitnessOfPopulation(population);
+        assertThat(skippingCalculator.getSkippedEvaluations()).isEqualTo(0);
+
+        for (int generation = 0; generation < 10; generation++) {
+            population.select();
+            population.crossover(0.25F);
+            population.mutate(0.002F);
+
+            long unchangedGenomes = population.getGenepool().stream().filter(Genome::isUnchanged).count();
+
+            skippingCalculator.calculateFitnessOfPopulation(population);
+            double[] skippedFitness = population.getStore().getFitness().clone();
+            int[] skippedContacts = population.getStore().getContacts().clone();
+            int[] skippedOverlaps = population.getStore().getOverlaps().clone();
+
+            assertThat(skippingCalculator.getSkippedEvaluations()).isEqualTo((int) unchangedGenomes).isGreaterThan(0);
+
+            foldingCalculator.calculateFitnessOfPopulation(population);
+
+            assertThat(skippedFitness).isEqualTo(population.getStore().getFitness());
+            assertThat(skippedContacts).isEqualTo(population.getStore().getContacts());
+            assertThat(skippedOverlaps).isEqualTo(population.getStore().getOverlaps());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.hda.gaf;
+
+import org.hda.gaf.algorithm.evaluation.FitnessCalculator;
+import org.hda.gaf.algorithm.evaluation.FoldingAnalyzer;
+import org.hda.gaf.algorithm.evaluation.FoldingKernel;
+import org.hda.gaf.algorithm.evaluation.GridLattice;
+import org.hda.gaf.algorithm.evaluation.HashedLattice;
+import org.hda.gaf.algorithm.evaluation.counter.DirectHydrophobNeighborsCounter;
+import org.hda.gaf.algorithm.evaluation.counter.HydrophobNeighborsCounter;
+import org.hda.gaf.algorithm.evaluation.node.Structure;
+import org.hda.gaf.algorithm.examples.Examples;
+import org.hda.gaf.algorithm.genome.Genome;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hda.gaf.algorithm.evaluation.direction.RelativeDirection.*;
+
+public class FoldingKernelTest {
+
+    private final Random rand = new Random(7);
+
+    @Test
+    public void invalidInputSize() {
+        FoldingKernel foldingKernel = new FoldingKernel("1001");
+
+        foldingKernel.evaluate(Genome.of(LEFT));
+
+        assertThat(foldingKernel.isValid()).isFalse();
+        assertThat(FoldingAnalyzer.calculateTotalFitness(foldingKernel)).isEqualTo(0);
+    }
+
+    @Test
+    public void countsOverlap() {
+        FoldingKernel foldingKernel = new FoldingKernel("11111");
+
+        foldingKernel.evaluate(Genome.of(RIGHT, RIGHT, RIGHT, RIGHT));
+
+        assertThat(foldingKernel.isValid()).isTrue();
+        assertThat(foldingKernel.getOverlapCounter()).isEqualTo(1);
+    }
+
+    @Test
+    public void matchesStructureOnShortSequence() {
+        assertSameAsStructure(Examples.SEQ20, 2000);
+    }
+
+    @Test
+    public void matchesStructureOnLongSequence() {
+        assertSameAsStructure(Examples.SEQ156, 500);
+    }
+
+    @Test
+    public void matchesStructureOnHashedLattice() {
+        assertSameAsStructure(new FoldingKernel(Examples.SEQ156, new HashedLattice(Examples.SEQ156.length() + 1, Examples.SEQ156.length())),
+                Examples.SEQ156, 500);
+    }
+
+    @Test
+    public void matchesStructureOnVeryLongSequence() {
+        StringBuilder primarySequence = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            primarySequence.append(rand.nextInt(3) == 0 ? '1' : '0');
+        }
+
+        FoldingKernel foldingKernel = new FoldingKernel(primarySequence.toString());
+
+        assertThat(foldingKernel.getLattice()).isInstanceOf(HashedLattice.class);
+        assertSameAsStructure(foldingKernel, primarySequence.toString(), 10);
+    }
+
+    @Test
+    public void choosesGridForShortSequences() {
+        assertThat(new FoldingKernel(Examples.SEQ156).getLattice()).isInstanceOf(GridLattice.class);
+    }
+
+    @Test
+    public void matchesStructureOnCompactFolds() {
+        assertSameOnCompactFolds(new FoldingKernel(Examples.SEQ48));
+    }
+
+    @Test
+    public void matchesStructureOnCompactFoldsOnHashedLattice() {
+        assertSameOnCompactFolds(new FoldingKernel(Examples.SEQ48, new HashedLattice(Examples.SEQ48.length() + 1, Examples.SEQ48.length())));
+    }
+
+    private void assertSameOnCompactFolds(FoldingKernel foldingKernel) {
+        FitnessCalculator fitnessCalculator = new FitnessCalculator(Examples.SEQ48);
+
+        for (int i = 0; i < 2000; i++) {
+            Genome genome = new Genome(Examples.SEQ48.length() - 1);
+            for (int gene = 0; gene < genome.size(); gene++) {
+                genome.set(gene, rand.nextInt(4) == 0 ? STRAIGHT : LEFT); //mostly turning -> many overlaps
+            }
+
+            assertSame(foldingKernel, fitnessCalculator, genome);
+        }
+    }
+
+    private void assertSameAsStructure(String primarySequence, int genomeAmount) {
+        assertSameAsStructure(new FoldingKernel(primarySequence), primarySequence, genomeAmount);
+    }
+
+    private void assertSameAsStructure(FoldingKernel foldingKernel, String primarySequence, int genomeAmount) {
+        FitnessCalculator fitnessCalculator = new FitnessCalculator(primarySequence);
+
+        for (int i = 0; i < genomeAmount; i++) {
+            Genome genome = new Genome(primarySequence.length() - 1);
+            for (int gene = 0; gene < genome.size(); gene++) {
+                genome.setCode(gene, rand.nextInt(3));
+            }
+
+            assertSame(foldingKernel, fitnessCalculator, genome);
+        }
+    }
+
+    private void assertSame(FoldingKernel foldingKernel, FitnessCalculator fitnessCalculator, Genome genome) {
+        Structure structure = fitnessCalculator.buildStructureWithFitness(genome);
+        foldingKernel.evaluate(genome);
+
+        assertThat(foldingKernel.getOverlapCounter()).isEqualTo(structure.getOverlappCounter());
+        assertThat(foldingKernel.getNeighborCounter()).isEqualTo(structure.getNeighborCounter());
+        assertThat(foldingKernel.getDirectNeighborCounter()).isEqualTo(structure.getDirectNeighborCounter());
+        assertThat(FoldingAnalyzer.calculateTotalFitness(foldingKernel)).isEqualTo(structure.getAbsoluteFitness());
+
+        //counting on the node grid rebuilt from the structure
+        assertThat(new HydrophobNeighborsCounter(structure.getNodes()).countHydrophobNeighbors(structure.getStartNode()))
+                .isEqualTo(foldingKernel.getNeighborCounter());
+        assertThat(DirectHydrophobNeighborsCounter.countDirectNeighbors(structure.getStartNode(), structure.getNodes()))
+                .isEqualTo(foldingKernel.getDirectNeighborCounter());
+
+        assertThat(HydrophobNeighborsCounter.countHydrophobNeighbors(foldingKernel.getLattice(), foldingKernel.getXs(),
+                foldingKernel.getYs(), foldingKernel.getHydrophob(), foldingKernel.getResidueAmount()))
+                .isEqualTo(structure.getNeighborCounter());
+        assertThat(DirectHydrophobNeighborsCounter.countDirectNeighbors(foldingKernel.getLattice(), foldingKernel.getXs(),
+                foldingKernel.getYs(), foldingKernel.getHydrophob(), foldingKernel.getResidueAmount()))
+                .isEqualTo(structure.getDirectNeighborCounter());
+    }
+}
@@ -4,11 +4,9 @@ import org.hda.gaf.algorithm.evaluation.FoldingStructureBuilder;
 import org.hda.gaf.algorithm.evaluation.node.Node;
 import org.hda.gaf.algorithm.evaluation.node.Position;
 import org.hda.gaf.algorithm.evaluation.node.Structure;
+import org.hda.gaf.algorithm.genome.Genome;
 import org.junit.Test;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-
 import static org.hda.gaf.algorithm.evaluation.direction.RelativeDirection.*;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
@@ -24,7 +22,7 @@ public class FoldingStructureBuilderTest {
     public void emptyPrimarySequence() {
         foldingStructureBuilder = new FoldingStructureBuilder("");
 
-        Structure structure = foldingStructureBuilder.buildStructure(Arrays.asList(RIGHT, LEFT));
+        Structure structure = foldingStructureBuilder.buildStructure(Genome.of(RIGHT, LEFT));
 
         assertThat(structure.isValid()).isFalse();
     }
@@ -33,7 +31,7 @@ public class FoldingStructureBuilderTest {
     public void emptyDirections() {
         foldingStructureBuilder = new FoldingStructureBuilder("asdfasdf");
 
-        Structure structure = foldingStructureBuilder.buildStructure(new ArrayList<>());
+        Structure structure = foldingStructureBuilder.buildStructure(Genome.of());
 
         assertThat(structure.isValid()).isFalse();
     }
@@ -43,7 +41,7 @@ public class FoldingStructureBuilderTest {
         //primarySequnce size = directions size - 1
         foldingStructureBuilder = new FoldingStructureBuilder("1001");
 
-        Structure structure = foldingStructureBuilder.buildStructure(Arrays.asList(LEFT));
+        Structure structure = foldingStructureBuilder.buildStructure(Genome.of(LEFT));
 
         assertThat(structure.isValid()).isFalse();
     }
@@ -51,7 +49,7 @@ public class FoldingStructureBuilderTest {
     @Test
     public void createOverlappingFolding() {
         foldingStructureBuilder = new FoldingStructureBuilder("11111");
-        Structure structure = foldingStructureBuilder.buildStructure(Arrays.asList(RIGHT, RIGHT, RIGHT, RIGHT));
+        Structure structure = foldingStructureBuilder.buildStructure(Genome.of(RIGHT, RIGHT, RIGHT, RIGHT));
 
         assertThat(structure.isValid()).isTrue();
         assertThat(structure.getOverlappCounter()).isEqualTo(1);
@@ -61,7 +59,7 @@ public class FoldingStructureBuilderTest {
     public void createValidFolding() {
         String primarySequence = "11110";
         foldingStructureBuilder = new FoldingStructureBuilder(primarySequence);
-        Structure structure = foldingStructureBuilder.buildStructure(Arrays.asList(LEFT, RIGHT, RIGHT, STRAIGHT));
+        Structure structure = foldingStructureBuilder.buildStructure(Genome.of(LEFT, RIGHT, RIGHT, STRAIGHT));
         Node[][] nodes = structure.getNodes();
 
         assertThat(structure.isValid()).isTrue();
@@ -0,0 +1,69 @@
+package org.hda.gaf;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.hda.gaf.algorithm.Population;
+import org.hda.gaf.algorithm.examples.Examples;
+import org.hda.gaf.algorithm.geneticalgorithm.GenerationLimitedAlgorithm;
+import org.hda.gaf.algorithm.geneticalgorithm.GeneticAlgorithm;
+import org.hda.gaf.algorithm.selectionalgorithm.TunierBestFitnessSelectionAlgorithm;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GenerationEventTest {
+
+    @Test
+    public void recordsEveryGenerationWithPhasesAndStatistic() throws Exception {
+        for (boolean pipelinesGenerations : new boolean[]{false, true}) {
+            GeneticAlgorithm geneticAlgorithm = new GenerationLimitedAlgorithm()
+                    .usesGenerationLimit(4)
+                    .usesPrimarySequence(Examples.SEQ50)
+                    .hasPopulationAmountOf(100)
+                    .hasCrossoverRateOf(0.25F)
+                    .hasMutationRateOf(0.02F)
+                    .calculatesHammingDistance(true)
+                    .pipelinesGenerations(pipelinesGenerations)
+                    .usesSelectionAlgorithm(new TunierBestFitnessSelectionAlgorithm(5));
+
+            Path file = Files.createTempFile("generations", ".jfr");
+            Population population;
+            try (Recording recording = new Recording()) {
+                recording.enable("org.hda.gaf.Generation");
+                recording.start();
+                population = geneticAlgorithm.runAlgorithm(geneticAlgorithm.generateStartPopulation());
+                recording.stop();
+                recording.dump(file);
+            }
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("org.hda.gaf.Generation"))
+                    .collect(Collectors.toList());
+            Files.delete(file);
+
+            assertThat(events).hasSize(4);
+            for (int i = 0; i < events.size(); i++) {
+                assertThat(events.get(i).getInt("generation")).isEqualTo(i + 1);
+            }
+
+            RecordedEvent last = events.get(events.size() - 1);
+            assertThat(last.getDouble("averageFitness")).isEqualTo(population.getStatistic().getAverageFitness());
+            assertThat(last.getDouble("bestFitness")).isEqualTo(population.getStatistic().getBestProtein().getAbsoluteFitness());
+            assertThat(last.getDuration("hammingDuration").toNanos()).isPositive();
+            assertThat(last.getDuration("saveResultsDuration").toNanos()).isPositive();
+            if (pipelinesGenerations) {
+                assertThat(last.getDuration("pipelineDuration").toNanos()).isPositive();
+                assertThat(last.getDuration("evaluateDuration").toNanos()).isZero();
+            } else {
+                assertThat(last.getDuration("evaluateDuration").toNanos()).isPositive();
+                assertThat(last.getDuration("pipelineDuration").toNanos()).isZero();
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.hda.gaf;
+
+import org.hda.gaf.algorithm.GenerationPipeline;
+import org.hda.gaf.algorithm.Population;
+import org.hda.gaf.algorithm.PopulationGenerator;
+import org.hda.gaf.algorithm.StatisticAccumulator;
+import org.hda.gaf.algorithm.WorkerPool;
+import org.hda.gaf.algorithm.evaluation.FitnessCalculator;
+import org.hda.gaf.algorithm.examples.Examples;
+import org.hda.gaf.algorithm.genome.Genome;
+import org.hda.gaf.algorithm.selectionalgorithm.TunierBestFitnessSelectionAlgorithm;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GenerationPipelineTest {
+
+    private static final String PRIMARY_SEQUENCE = Examples.SEQ50;
+
+    @Test
+    public void pipelinedGenerationsGiveSameResultsAsFullEvaluation() {
+        WorkerPool workerPool = new WorkerPool(3);
+        Population population = buildPopulation(generateGenepool(200), WorkerPool.CALLING_THREAD);
+        GenerationPipeline generationPipeline = new GenerationPipeline().usesWorkers(workerPool);
+
+        for (int generation = 0; generation < 10; generation++) {
+            StatisticAccumulator accumulator = generationPipeline.performGeneration(population, 0.25F, 0.02F);
+
+            Population evaluatedAgain = new Population(population.getGenepool().size());
+            population.getGenepool().forEach(genome -> evaluatedAgain.addGensToGenpool(genome.copy()));
+            new FitnessCalculator(PRIMARY_SEQUENCE).calculateFitnessOfPopulation(evaluatedAgain);
+
+            assertThat(population.getGenepool()).hasSize(200);
+            assertThat(population.getStore().getFitness()).isEqualTo(evaluatedAgain.getStore().getFitness());
+            assertThat(population.getStore().getContacts()).isEqualTo(evaluatedAgain.getStore().getContacts());
+            assertThat(population.getStore().getOverlaps()).isEqualTo(evaluatedAgain.getStore().getOverlaps());
+
+            StatisticAccumulator expected = StatisticAccumulator.of(evaluatedAgain.getStore());
+            assertThat(accumulator.getCount()).isEqualTo(expected.getCount());
+            assertThat(accumulator.getTotalNeighborCounter()).isEqualTo(expected.getTotalNeighborCounter());
+            assertThat(accumulator.getTotalOverlapCounter()).isEqualTo(expected.getTotalOverlapCounter());
+            assertThat(accumulator.getBestIndex()).isEqualTo(expected.getBestIndex());
+        }
+        workerPool.close();
+    }
+
+    @Test
+    public void seededPipelineRepeatsWithAnyThreadAmount() {
+        List<Genome> startGenepool = generateGenepool(300);
+        List<String> expectedGenepool = null;
+
+        for (int threads : new int[]{1, 2, 5}) {
+            Population population;
+            try (WorkerPool workerPool = new WorkerPool(threads)) {
+                population = buildPopulation(startGenepool, workerPool);
+                GenerationPipeline generationPipeline = new GenerationPipeline().usesSeed(3).usesWorkers(workerPool);
+
+                for (int generation = 0; generation < 5; generation++) {
+                    generationPipeline.performGeneration(population, 0.5F, 0.05F);
+                }
+            }
+
+            List<String> genepool = population.getGenepool().stream().map(Genome::toCharacters).collect(Collectors.toList());
+            if (expectedGenepool == null) {
+                expectedGenepool = genepool;
+            }
+            assertThat(genepool).isEqualTo(expectedGenepool);
+        }
+    }
+
+    private List<Genome> generateGenepool(int populationSize) {
+        return new PopulationGenerator(PRIMARY_SEQUENCE.length(), populationSize).generateStartPopulation().getGenepool();
+    }
+
+    private Population buildPopulation(List<Genome> genepool, WorkerPool workerPool) {
+        Population population = new Population(genepool.size());
+        genepool.forEach(genome -> population.addGensToGenpool(genome.copy()));
+        population.setSelectionAlgorithm(new TunierBestFitnessSelectionAlgorithm(20).usesSeed(5));
+        population.setFitnessCalculator(new FitnessCalculator(PRIMARY_SEQUENCE).usesFoldingKernel(true)
+                .skipsUnchangedGenomes(true).sharesFoldPrefixes(4).usesWorkers(workerPool));
+        population.evaluate(PRIMARY_SEQUENCE);
+        return population;
+    }
+}
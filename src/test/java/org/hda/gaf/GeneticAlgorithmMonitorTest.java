@@ -0,0 +1,73 @@
+package org.hda.gaf;
+
+import org.hda.gaf.algorithm.Population;
+import org.hda.gaf.algorithm.examples.Examples;
+import org.hda.gaf.algorithm.geneticalgorithm.GenerationLimitedAlgorithm;
+import org.hda.gaf.algorithm.geneticalgorithm.GeneticAlgorithm;
+import org.hda.gaf.algorithm.monitoring.GeneticAlgorithmMonitor;
+import org.hda.gaf.algorithm.selectionalgorithm.TunierBestFitnessSelectionAlgorithm;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GeneticAlgorithmMonitorTest {
+
+    private static final int POPULATION_SIZE = 100;
+
+    @Test
+    public void publishesProgressOfSavedGenerations() throws Exception {
+        GeneticAlgorithmMonitor monitor = new GeneticAlgorithmMonitor(42).register();
+        GeneticAlgorithm geneticAlgorithm = new GenerationLimitedAlgorithm()
+                .usesGenerationLimit(5)
+                .usesPrimarySequence(Examples.SEQ50)
+                .hasPopulationAmountOf(POPULATION_SIZE)
+                .hasCrossoverRateOf(0.25F)
+                .hasMutationRateOf(0.02F)
+                .calculatesHammingDistance(true)
+                .cachesFitnessOf(50)
+                .usesSelectionAlgorithm(new TunierBestFitnessSelectionAlgorithm(5))
+                .reportsTo(monitor);
+
+        Population population = geneticAlgorithm.runAlgorithm(geneticAlgorithm.generateStartPopulation());
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("org.hda.gaf:type=GeneticAlgorithm,rank=42");
+        assertThat(server.isRegistered(name)).isTrue();
+
+        assertThat(server.getAttribute(name, "Generation")).isEqualTo(5);
+        assertThat(server.getAttribute(name, "BestFitness")).isEqualTo(population.getStatistic().getBestProtein().getAbsoluteFitness());
+        assertThat(server.getAttribute(name, "AverageFitness")).isEqualTo(population.getStatistic().getAverageFitness());
+        assertThat((Double) server.getAttribute(name, "AverageHammingDistance")).isPositive();
+        assertThat((Long) server.getAttribute(name, "Evaluations")).isBetween(1L, 6L * POPULATION_SIZE);
+        assertThat((Double) server.getAttribute(name, "EvaluationsPerSecond")).isPositive();
+        assertThat((Double) server.getAttribute(name, "FitnessCacheHitRate")).isBetween(0.0, 1.0);
+        assertThat((Double) server.getAttribute(name, "AllocatedMegabytesPerSecond")).isGreaterThanOrEqualTo(0.0);
+
+        server.unregisterMBean(name);
+    }
+
+    @Test
+    public void replacesMonitorOfEarlierRunWithSameRank() throws Exception {
+        ObjectName name = new ObjectName("org.hda.gaf:type=GeneticAlgorithm,rank=43");
+        new GeneticAlgorithmMonitor(43).register();
+        GeneticAlgorithm geneticAlgorithm = new GenerationLimitedAlgorithm()
+                .usesGenerationLimit(2)
+                .usesPrimarySequence(Examples.SEQ50)
+                .hasPopulationAmountOf(POPULATION_SIZE)
+                .hasCrossoverRateOf(0.25F)
+                .hasMutationRateOf(0.02F)
+                .usesSelectionAlgorithm(new TunierBestFitnessSelectionAlgorithm(5))
+                .reportsTo(new GeneticAlgorithmMonitor(43).register());
+
+        geneticAlgorithm.runAlgorithm(geneticAlgorithm.generateStartPopulation());
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertThat(server.getAttribute(name, "Generation")).isEqualTo(2);
+
+        server.unregisterMBean(name);
+    }
+}
@@ -0,0 +1,168 @@
+package org.hda.gaf;
+
+import org.hda.gaf.algorithm.evaluation.direction.RelativeDirection;
+import org.hda.gaf.algorithm.genome.Genome;
+import org.hda.gaf.algorithm.genome.GenomeCodec;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hda.gaf.algorithm.evaluation.direction.RelativeDirection.*;
+
+public class GenomeTest {
+
+    private final Random rand = new Random(42);
+
+    @Test
+    public void keepsDirectionsAcrossWordBoundaries() {
+        List<RelativeDirection> directions = randomDirections(155);
+
+        Genome genome = Genome.fromDirections(directions);
+
+        assertThat(genome.size()).isEqualTo(155);
+        assertThat(genome.toDirections()).isEqualTo(directions);
+    }
+
+    @Test
+    public void setOverridesOnlyOneGene() {
+        Genome genome = Genome.of(LEFT, RIGHT, STRAIGHT, LEFT);
+
+        genome.set(2, RIGHT);
+
+        assertThat(genome.toCharacters()).isEqualTo("lrrl");
+    }
+
+    @Test
+    public void charactersRoundTrip() {
+        Genome genome = Genome.fromCharacters("lrsslr");
+
+        assertThat(genome.toCharacters()).isEqualTo("lrsslr");
+        assertThat(genome).isEqualTo(Genome.of(LEFT, RIGHT, STRAIGHT, STRAIGHT, LEFT, RIGHT));
+    }
+
+    @Test
+    public void copyIsIndependent() {
+        Genome genome = Genome.of(LEFT, LEFT);
+        Genome copy = genome.copy();
+
+        copy.set(0, RIGHT);
+
+        assertThat(genome.get(0)).isEqualTo(LEFT);
+        assertThat(copy.get(0)).isEqualTo(RIGHT);
+    }
+
+    @Test
+    public void spliceWithMatchesListConcatenation() {
+        List<RelativeDirection> first = randomDirections(100);
+        List<RelativeDirection> second = randomDirections(100);
+
+        for (int spliceIndex = 1; spliceIndex < 100; spliceIndex++) {
+            List<RelativeDirection> expected = new ArrayList<>(first.subList(0, spliceIndex));
+            expected.addAll(second.subList(spliceIndex, second.size()));
+
+            Genome child = Genome.fromDirections(first).spliceWith(Genome.fromDirections(second), spliceIndex);
+
+            assertThat(child.toDirections()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void swapGenesMatchesListSwapAndMarksFirstChangedGene() {
+        List<RelativeDirection> first = randomDirections(155);
+        List<RelativeDirection> second = randomDirections(155);
+
+        for (int from = 0; from < 155; from += 7) {
+            for (int to = from; to <= 155; to += 11) {
+                List<RelativeDirection> expectedFirst = new ArrayList<>(first);
+                List<RelativeDirection> expectedSecond = new ArrayList<>(second);
+                int firstChangedGene = 155;
+                for (int i = from; i < to; i++) {
+                    expectedFirst.set(i, second.get(i));
+                    expectedSecond.set(i, first.get(i));
+                    if (first.get(i) != second.get(i)) {
+                        firstChangedGene = Math.min(firstChangedGene, i);
+                    }
+                }
+
+                Genome firstGenome = Genome.fromDirections(first).descendantOf(0);
+                Genome secondGenome = Genome.fromDirections(second).descendantOf(1);
+                firstGenome.swapGenesWith(secondGenome, from, to);
+
+                assertThat(firstGenome.toDirections()).isEqualTo(expectedFirst);
+                assertThat(secondGenome.toDirections()).isEqualTo(expectedSecond);
+                assertThat(firstGenome.getFirstDirtyGene()).isEqualTo(firstChangedGene);
+                assertThat(secondGenome.getFirstDirtyGene()).isEqualTo(firstChangedGene);
+            }
+        }
+    }
+
+    @Test
+    public void swapSelectedGenesSwapsGenesWithLowBitSet() {
+        Genome first = Genome.of(LEFT, RIGHT, STRAIGHT, LEFT);
+        Genome second = Genome.of(RIGHT, STRAIGHT, LEFT, STRAIGHT);
+
+        first.swapSelectedGenesWith(second, 0, 0b01_00_01_00L); //genes 1 and 3
+
+        assertThat(first.toDirections()).containsExactly(LEFT, STRAIGHT, STRAIGHT, STRAIGHT);
+        assertThat(second.toDirections()).containsExactly(RIGHT, RIGHT, LEFT, LEFT);
+    }
+
+    @Test
+    public void hammingDistanceCountsDifferentGenes() {
+        List<RelativeDirection> first = randomDirections(155);
+        List<RelativeDirection> second = randomDirections(155);
+
+        int expected = 0;
+        for (int i = 0; i < first.size(); i++) {
+            if (first.get(i) != second.get(i)) {
+                expected++;
+            }
+        }
+
+        assertThat(Genome.fromDirections(first).hammingDistance(Genome.fromDirections(second))).isEqualTo(expected);
+    }
+
+    @Test
+    public void packedBytesRoundTrip() {
+        for (int size : new int[]{1, 4, 5, 32, 33, 155}) {
+            Genome genome = Genome.fromDirections(randomDirections(size));
+            byte[] bytes = new byte[Genome.bytesFor(size) + 2];
+            bytes[0] = -1;
+            bytes[bytes.length - 1] = -1;
+
+            genome.writeTo(bytes, 1);
+            Genome read = Genome.readFrom(bytes, 1, size);
+
+            assertThat(Genome.bytesFor(size)).isEqualTo((size + 3) / 4);
+            assertThat(read).isEqualTo(genome);
+            assertThat(read.isUnchanged()).isFalse();
+        }
+    }
+
+    @Test
+    public void codecPacksGenomesBackToBack() {
+        GenomeCodec codec = new GenomeCodec(155);
+        List<Genome> genomes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            genomes.add(Genome.fromDirections(randomDirections(155)));
+        }
+
+        byte[] bytes = codec.encode(genomes);
+        int length = genomes.size() * codec.getBytesPerGenome();
+
+        assertThat(codec.getBytesPerGenome()).isEqualTo(39);
+        assertThat(codec.decode(bytes, length)).isEqualTo(genomes);
+        assertThat(codec.decode(bytes, length - codec.getBytesPerGenome())).isEqualTo(genomes.subList(0, 9));
+    }
+
+    private List<RelativeDirection> randomDirections(int size) {
+        List<RelativeDirection> directions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            directions.add(RelativeDirection.values()[rand.nextInt(3)]);
+        }
+        return directions;
+    }
+}
@@ -0,0 +1,99 @@
+package org.hda.gaf;
+
+import org.hda.gaf.algorithm.timing.LatencyHistogram;
+import org.hda.gaf.algorithm.timing.Phase;
+import org.hda.gaf.algorithm.timing.PhaseTimers;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void percentilesStayWithinBucketWidth() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100000; nanos++) {
+            histogram.record(nanos * 1000);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(100000);
+        assertThat(histogram.getMax()).isEqualTo(100000L * 1000);
+        assertThat(histogram.getPercentile(0.5)).isBetween(50000L * 1000, (long) (50000L * 1000 * 1.125));
+        assertThat(histogram.getPercentile(0.99)).isBetween(99000L * 1000, 100000L * 1000);
+        assertThat(histogram.getPercentile(1)).isEqualTo(histogram.getMax());
+    }
+
+    @Test
+    public void smallDurationsAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 0; nanos < 16; nanos++) {
+            histogram.record(nanos);
+        }
+
+        assertThat(histogram.getPercentile(0.5)).isEqualTo(7);
+        assertThat(histogram.getMax()).isEqualTo(15);
+    }
+
+    @Test
+    public void recordsFromSeveralThreadsWithoutLosingCounts() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Random rand = new Random(t);
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 50000; i++) {
+                    histogram.record(rand.nextInt(1000000));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(200000);
+    }
+
+    @Test
+    public void mergesWrittenHistograms() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(100);
+        first.record(2000);
+        second.record(3000000);
+
+        long[] written = new long[LatencyHistogram.BUCKET_AMOUNT + 1];
+        second.writeTo(written, 0);
+        first.addFrom(written, 0);
+
+        assertThat(first.getCount()).isEqualTo(3);
+        assertThat(first.getMax()).isEqualTo(3000000);
+    }
+
+    @Test
+    public void mergesTimersOfProcessesOnce() {
+        PhaseTimers first = new PhaseTimers();
+        PhaseTimers second = new PhaseTimers();
+        first.get(Phase.SELECT).record(100);
+        second.get(Phase.SELECT).record(200);
+        second.get(Phase.EVALUATE).record(3000);
+
+        List<long[]> timings = new ArrayList<>();
+        for (PhaseTimers timers : new PhaseTimers[]{first, second}) {
+            long[] written = new long[PhaseTimers.getSerializedLength()];
+            timers.writeTo(written);
+            timings.add(written);
+        }
+        PhaseTimers merged = PhaseTimers.merge(timings);
+
+        assertThat(first.get(Phase.SELECT).getCount()).isEqualTo(1);
+        assertThat(merged.get(Phase.SELECT).getCount()).isEqualTo(2);
+        assertThat(merged.get(Phase.EVALUATE).getCount()).isEqualTo(1);
+        assertThat(merged.get(Phase.EVALUATE).getMax()).isEqualTo(3000);
+    }
+}
@@ -0,0 +1,88 @@
+package org.hda.gaf;
+
+import org.hda.gaf.algorithm.Population;
+import org.hda.gaf.algorithm.PopulationGenerator;
+import org.hda.gaf.algorithm.StatisticAccumulator;
+import org.hda.gaf.algorithm.evaluation.FitnessCalculator;
+import org.hda.gaf.algorithm.examples.Examples;
+import org.hda.gaf.algorithm.genome.Genome;
+import org.hda.gaf.algorithm.geneticalgorithm.GeneticAlgorithm;
+import org.hda.gaf.algorithm.geneticalgorithm.Migration;
+import org.hda.gaf.algorithm.geneticalgorithm.SteadyStateAlgorithm;
+import org.hda.gaf.algorithm.selectionalgorithm.TunierBestFitnessSelectionAlgorithm;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class MigrationTest {
+
+    private static final String PRIMARY_SEQUENCE = Examples.SEQ50;
+    private static final int POPULATION_SIZE = 100;
+
+    @Test
+    public void mergesImmigrantsEvaluatedAtGenerationBoundaries() {
+        ArrivingImmigrants migration = new ArrivingImmigrants();
+        GeneticAlgorithm geneticAlgorithm = new SteadyStateAlgorithm()
+                .breedsInBatchesOf(10)
+                .usesGenerationLimit(3)
+                .usesPrimarySequence(PRIMARY_SEQUENCE)
+                .hasPopulationAmountOf(POPULATION_SIZE)
+                .hasCrossoverRateOf(0.25F)
+                .hasMutationRateOf(0.02F)
+                .evaluatesWithFoldingKernel(true)
+                .skipsUnchangedGenomes(true)
+                .sharesFoldPrefixesEvery(4)
+                .usesSelectionAlgorithm(new TunierBestFitnessSelectionAlgorithm(5))
+                .migratesWith(migration);
+
+        Population population = geneticAlgorithm.runAlgorithm(geneticAlgorithm.generateStartPopulation());
+
+        assertThat(migration.polls).isEqualTo(3);
+        assertThat(population.getGenepool()).hasSize(POPULATION_SIZE);
+        for (Genome immigrant : migration.lastImmigrants) {
+            assertThat(population.getGenepool().stream().anyMatch(genome -> genome == immigrant)).isTrue();
+        }
+
+        Population evaluatedAgain = new Population(POPULATION_SIZE);
+        population.getGenepool().forEach(genome -> evaluatedAgain.addGensToGenpool(genome.copy()));
+        new FitnessCalculator(PRIMARY_SEQUENCE).calculateFitnessOfPopulation(evaluatedAgain);
+
+        assertThat(population.getStore().getFitness()).isEqualTo(evaluatedAgain.getStore().getFitness());
+        assertThat(population.getStatisticAccumulator().getAverageFitness())
+                .isCloseTo(StatisticAccumulator.of(evaluatedAgain.getStore()).getAverageFitness(), within(1e-9));
+    }
+
+    @Test
+    public void keepsPopulationWithoutImmigrants() {
+        GeneticAlgorithm geneticAlgorithm = new SteadyStateAlgorithm()
+                .usesGenerationLimit(1)
+                .usesPrimarySequence(PRIMARY_SEQUENCE)
+                .hasPopulationAmountOf(POPULATION_SIZE)
+                .hasCrossoverRateOf(0.25F)
+                .hasMutationRateOf(0.02F)
+                .usesSelectionAlgorithm(new TunierBestFitnessSelectionAlgorithm(5))
+                .migratesWith(Collections::emptyList);
+
+        Population population = geneticAlgorithm.runAlgorithm(geneticAlgorithm.generateStartPopulation());
+
+        assertThat(population.getGenepool()).hasSize(POPULATION_SIZE);
+    }
+
+    //delivers 20 random immigrants at every generation boundary
+    private static class ArrivingImmigrants implements Migration {
+
+        private int polls;
+        private List<Genome> lastImmigrants;
+
+        @Override
+        public List<Genome> pollImmigrants() {
+            polls++;
+            lastImmigrants = new PopulationGenerator(PRIMARY_SEQUENCE.length(), 20).generateStartPopulation().getGenepool();
+            return lastImmigrants;
+        }
+    }
+}
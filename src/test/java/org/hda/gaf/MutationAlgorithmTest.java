@@ -1,7 +1,71 @@
 package org.hda.gaf;
 
+import org.hda.gaf.algorithm.genome.Genome;
+import org.hda.gaf.algorithm.mutation.MutationAlgorithm;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * Created by marcus on 17.05.16.
  */
 public class MutationAlgorithmTest {
+
+    private final Random rand = new Random(11);
+
+    @Test
+    public void mutatesExactAmountOfGenes() {
+        for (float mutationRate : new float[]{0, 0.02F, 0.5F, 0.9F, 1}) {
+            List<Genome> genepool = randomGenepool(40, 77);
+            List<Genome> original = copy(genepool);
+
+            new MutationAlgorithm().mutate(genepool, mutationRate);
+
+            int changedGenes = 0;
+            for (int i = 0; i < genepool.size(); i++) {
+                changedGenes += genepool.get(i).hammingDistance(original.get(i));
+            }
+            assertThat(changedGenes).isEqualTo(Math.round(40 * 77 * mutationRate));
+        }
+    }
+
+    @Test
+    public void marksFirstMutatedGeneAsDirty() {
+        List<Genome> genepool = randomGenepool(40, 77);
+        List<Genome> original = copy(genepool);
+
+        new MutationAlgorithm().mutate(genepool, 0.05F);
+
+        for (int i = 0; i < genepool.size(); i++) {
+            int firstMutatedGene = genepool.get(i).size();
+            for (int gene = genepool.get(i).size() - 1; gene >= 0; gene--) {
+                if (genepool.get(i).getCode(gene) != original.get(i).getCode(gene)) {
+                    firstMutatedGene = gene;
+                }
+            }
+            assertThat(genepool.get(i).getFirstDirtyGene()).isEqualTo(firstMutatedGene);
+        }
+    }
+
+    private List<Genome> randomGenepool(int populationSize, int geneAmount) {
+        List<Genome> genepool = new ArrayList<>();
+        for (int i = 0; i < populationSize; i++) {
+            Genome genome = new Genome(geneAmount);
+            for (int gene = 0; gene < geneAmount; gene++) {
+                genome.setCode(gene, rand.nextInt(3));
+            }
+            genepool.add(genome.descendantOf(i));
+        }
+        return genepool;
+    }
+
+    private List<Genome> copy(List<Genome> genepool) {
+        List<Genome> copy = new ArrayList<>();
+        genepool.forEach(genome -> copy.add(genome.copy()));
+        return copy;
+    }
 }
@@ -2,11 +2,17 @@ package org.hda.gaf;
 
 import org.hda.gaf.algorithm.Population;
 import org.hda.gaf.algorithm.evaluation.node.Structure;
+import org.hda.gaf.algorithm.genome.Genome;
 import org.hda.gaf.algorithm.selectionalgorithm.SigmaScalingSelectionAlgorithm;
 import com.google.common.collect.ImmutableList;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hda.gaf.algorithm.evaluation.direction.RelativeDirection.*;
+
 /**
  * Created by marcus on 10.06.16.
  */
@@ -21,18 +27,30 @@ public class SigmaScalingSelectionAlgorithmTest {
 
     @Test
     public void test() {
-        Structure structure1 = new Structure();
-        structure1.setAbsoluteFitness(1);
-        Structure structure2 = new Structure();
-        structure2.setAbsoluteFitness(2);
-        Structure structure3 = new Structure();
-        structure3.setAbsoluteFitness(3);
-        Structure structure4 = new Structure();
-        structure4.setAbsoluteFitness(7);
+        Structure structure1 = createStructure(Genome.of(LEFT, LEFT), 1);
+        Structure structure2 = createStructure(Genome.of(LEFT, RIGHT), 2);
+        Structure structure3 = createStructure(Genome.of(RIGHT, STRAIGHT), 3);
+        Structure structure4 = createStructure(Genome.of(STRAIGHT, STRAIGHT), 7);
 
         Population population = new Population(4);
-        population.setStructures(ImmutableList.of(structure1, structure2, structure3, structure4));
+        List<Structure> structures = ImmutableList.of(structure1, structure2, structure3, structure4);
+
+        population.getStore().resize(structures.size());
+        for (int i = 0; i < structures.size(); i++) {
+            population.addGensToGenpool(structures.get(i).getGenome());
+            population.getStore().record(i, structures.get(i));
+        }
 
         sigmaScalingSelectionAlgorithm.selectOnPopulation(population);
+
+        assertThat(population.getGenepool()).hasSize(4);
+        assertThat(population.getStatistic().getTotalFitness()).isEqualTo(13);
+    }
+
+    private Structure createStructure(Genome genome, double fitness) {
+        Structure structure = new Structure();
+        structure.setGenome(genome);
+        structure.setAbsoluteFitness(fitness);
+        return structure;
     }
 }
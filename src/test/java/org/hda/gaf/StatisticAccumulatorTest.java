@@ -0,0 +1,136 @@
+package org.hda.gaf;
+
+import org.hda.gaf.algorithm.PopulationStore;
+import org.hda.gaf.algorithm.StatisticAccumulator;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class StatisticAccumulatorTest {
+
+    private static final int SIZE = 1000;
+
+    private PopulationStore store;
+
+    @Before
+    public void setup() {
+        Random rand = new Random(3);
+        store = new PopulationStore(SIZE);
+        store.resize(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            store.record(i, 1000 + rand.nextDouble() * 50000, rand.nextInt(40), rand.nextInt(10), rand.nextInt(8));
+        }
+    }
+
+    @Test
+    public void collectsStatisticInOnePass() {
+        StatisticAccumulator accumulator = StatisticAccumulator.of(store);
+
+        double total = 0;
+        double best = Double.NEGATIVE_INFINITY;
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < SIZE; i++) {
+            total += store.getFitness()[i];
+            best = Math.max(best, store.getFitness()[i]);
+            min = Math.min(min, store.getFitness()[i]);
+        }
+        double mean = total / SIZE;
+        double squaredDeviations = 0;
+        for (int i = 0; i < SIZE; i++) {
+            squaredDeviations += Math.pow(store.getFitness()[i] - mean, 2);
+        }
+
+        assertThat(accumulator.getCount()).isEqualTo(SIZE);
+        assertThat(accumulator.getTotalFitness()).isCloseTo(total, within(1e-6));
+        assertThat(accumulator.getAverageFitness()).isCloseTo(mean, within(1e-6));
+        assertThat(accumulator.getFitnessVariance()).isCloseTo(squaredDeviations / SIZE, within(1e-3));
+        assertThat(accumulator.getMinFitness()).isEqualTo(min);
+        assertThat(accumulator.getBestFitness()).isEqualTo(best);
+        assertThat(store.getFitness()[accumulator.getBestIndex()]).isEqualTo(best);
+        assertThat(accumulator.getBestIndex()).isEqualTo(store.indexOfBestFitness());
+    }
+
+    @Test
+    public void mergedChunksGiveSameStatisticAsOnePass() {
+        StatisticAccumulator expected = StatisticAccumulator.of(store);
+
+        StatisticAccumulator merged = new StatisticAccumulator();
+        for (int from = 0; from < SIZE; from += 137) {
+            StatisticAccumulator chunk = new StatisticAccumulator();
+            for (int i = from; i < Math.min(from + 137, SIZE); i++) {
+                chunk.add(store, i);
+            }
+            merged.merge(chunk);
+        }
+
+        assertThat(merged.getCount()).isEqualTo(expected.getCount());
+        assertThat(merged.getAverageFitness()).isCloseTo(expected.getAverageFitness(), within(1e-6));
+        assertThat(merged.getFitnessVariance()).isCloseTo(expected.getFitnessVariance(), within(1e-3));
+        assertThat(merged.getTotalNeighborCounter()).isEqualTo(expected.getTotalNeighborCounter());
+        assertThat(merged.getTotalOverlapCounter()).isEqualTo(expected.getTotalOverlapCounter());
+        assertThat(merged.getMinFitness()).isEqualTo(expected.getMinFitness());
+        assertThat(merged.getBestIndex()).isEqualTo(expected.getBestIndex());
+    }
+
+    @Test
+    public void replacingIndividualsKeepsStatisticUpToDate() {
+        StatisticAccumulator accumulator = StatisticAccumulator.of(store);
+        int bestIndex = accumulator.getBestIndex();
+
+        for (int index = 0; index < SIZE; index += 3) {
+            if (index != bestIndex) {
+                accumulator.remove(store, index);
+                store.record(index, store.getFitness()[index] / 2 + 1, 1, 0, 0);
+                accumulator.add(store, index);
+            }
+        }
+        StatisticAccumulator expected = StatisticAccumulator.of(store);
+
+        assertThat(accumulator.getAverageFitness()).isCloseTo(expected.getAverageFitness(), within(1e-6));
+        assertThat(accumulator.getFitnessVariance()).isCloseTo(expected.getFitnessVariance(), within(1e-3));
+        assertThat(accumulator.getTotalNeighborCounter()).isEqualTo(expected.getTotalNeighborCounter());
+        assertThat(accumulator.getBestIndex()).isEqualTo(bestIndex);
+
+        accumulator.remove(store, bestIndex);
+        assertThat(accumulator.knowsExtremes()).isFalse();
+    }
+
+    @Test
+    public void searchesRemovedExtremesOnlyWhenRead() {
+        StatisticAccumulator accumulator = StatisticAccumulator.of(store);
+        int bestIndex = accumulator.getBestIndex();
+        int worstIndex = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (store.getFitness()[i] < store.getFitness()[worstIndex]) {
+                worstIndex = i;
+            }
+        }
+
+        replace(accumulator, worstIndex, 60000);
+        assertThat(accumulator.knowsExtremes()).isFalse(); //the minimum was removed
+
+        replace(accumulator, bestIndex, 500);
+        assertThat(accumulator.knowsExtremes()).isTrue(); //both extremes were passed by new individuals
+        assertThat(accumulator.getMinFitness()).isEqualTo(500);
+        assertThat(accumulator.getBestIndex()).isEqualTo(worstIndex);
+
+        replace(accumulator, worstIndex, 700);
+        assertThat(accumulator.knowsExtremes()).isFalse();
+
+        StatisticAccumulator expected = StatisticAccumulator.of(store);
+        assertThat(accumulator.getBestIndex()).isEqualTo(expected.getBestIndex());
+        assertThat(accumulator.getBestFitness()).isEqualTo(expected.getBestFitness());
+        assertThat(accumulator.getMinFitness()).isEqualTo(500);
+        assertThat(accumulator.knowsExtremes()).isTrue();
+    }
+
+    private void replace(StatisticAccumulator accumulator, int index, double fitness) {
+        accumulator.remove(store, index);
+        store.record(index, fitness, 1, 0, 0);
+        accumulator.add(store, index);
+    }
+}
@@ -0,0 +1,97 @@
+package org.hda.gaf;
+
+import org.hda.gaf.algorithm.Population;
+import org.hda.gaf.algorithm.StatisticAccumulator;
+import org.hda.gaf.algorithm.evaluation.FitnessCalculator;
+import org.hda.gaf.algorithm.examples.Examples;
+import org.hda.gaf.algorithm.genome.Genome;
+import org.hda.gaf.algorithm.geneticalgorithm.GeneticAlgorithm;
+import org.hda.gaf.algorithm.geneticalgorithm.SteadyStateAlgorithm;
+import org.hda.gaf.algorithm.selectionalgorithm.TunierBestFitnessSelectionAlgorithm;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class SteadyStateAlgorithmTest {
+
+    private static final String PRIMARY_SEQUENCE = Examples.SEQ50;
+    private static final int POPULATION_SIZE = 100;
+
+    @Test
+    public void replacesIndividualsInPlaceWithEvaluatedOffspring() {
+        for (SteadyStateAlgorithm.Replacement replacement : SteadyStateAlgorithm.Replacement.values()) {
+            GeneticAlgorithm geneticAlgorithm = buildAlgorithm(new SteadyStateAlgorithm().breedsInBatchesOf(7).replaces(replacement, 3));
+
+            Population population = geneticAlgorithm.generateStartPopulation();
+            List<Genome> genepool = population.getGenepool();
+            population = geneticAlgorithm.runAlgorithm(population);
+
+            assertThat(population.getGenepool()).isSameAs(genepool).hasSize(POPULATION_SIZE);
+            assertThat(geneticAlgorithm.getCurrentGeneration()).isEqualTo(5);
+
+            Population evaluatedAgain = new Population(POPULATION_SIZE);
+            population.getGenepool().forEach(genome -> evaluatedAgain.addGensToGenpool(genome.copy()));
+            new FitnessCalculator(PRIMARY_SEQUENCE).calculateFitnessOfPopulation(evaluatedAgain);
+
+            assertThat(population.getStore().getFitness()).isEqualTo(evaluatedAgain.getStore().getFitness());
+            assertThat(population.getStore().getOverlaps()).isEqualTo(evaluatedAgain.getStore().getOverlaps());
+            assertThat(population.getStatistic().getTotalFitness())
+                    .isCloseTo(Arrays.stream(evaluatedAgain.getStore().getFitness(), 0, POPULATION_SIZE).sum(), within(1e-6));
+        }
+    }
+
+    @Test
+    public void replacingWorstKeepsBestIndividual() {
+        GeneticAlgorithm geneticAlgorithm = buildAlgorithm(new SteadyStateAlgorithm().breedsInBatchesOf(10)
+                .replaces(SteadyStateAlgorithm.Replacement.WORST, 2));
+
+        Population population = geneticAlgorithm.generateStartPopulation();
+        geneticAlgorithm.runAlgorithm(population);
+        double bestFitness = population.getStatistic().getBestProteinInGeneration().getAbsoluteFitness();
+
+        geneticAlgorithm.runAlgorithm(population);
+
+        assertThat(population.getStatistic().getBestProteinInGeneration().getAbsoluteFitness()).isGreaterThanOrEqualTo(bestFitness);
+    }
+
+    @Test
+    public void keepsStatisticIncrementallyWithinGeneration() {
+        Set<StatisticAccumulator> accumulators = Collections.newSetFromMap(new IdentityHashMap<>());
+        GeneticAlgorithm geneticAlgorithm = buildAlgorithm(new SteadyStateAlgorithm().breedsInBatchesOf(5)
+                .replaces(SteadyStateAlgorithm.Replacement.WORST, 2))
+                .usesSelectionAlgorithm(new TunierBestFitnessSelectionAlgorithm(5) {
+                    @Override
+                    public ChunkPicker prepareSelection(Population population) {
+                        accumulators.add(population.getStatisticAccumulator()); //once per batch
+                        return super.prepareSelection(population);
+                    }
+                });
+
+        Population population = geneticAlgorithm.runAlgorithm(geneticAlgorithm.generateStartPopulation());
+
+        assertThat(accumulators).hasSize(5); //built once per generation, not after every batch replacing the worst
+        StatisticAccumulator expected = StatisticAccumulator.of(population.getStore());
+        assertThat(population.getStatistic().getMinFitness()).isEqualTo(expected.getMinFitness());
+        assertThat(population.getStatistic().getBestProtein().getAbsoluteFitness()).isGreaterThanOrEqualTo(expected.getBestFitness());
+    }
+
+    private GeneticAlgorithm buildAlgorithm(SteadyStateAlgorithm steadyStateAlgorithm) {
+        return steadyStateAlgorithm
+                .usesGenerationLimit(5)
+                .usesPrimarySequence(PRIMARY_SEQUENCE)
+                .hasPopulationAmountOf(POPULATION_SIZE)
+                .hasCrossoverRateOf(0.25F)
+                .hasMutationRateOf(0.02F)
+                .evaluatesWithFoldingKernel(true)
+                .skipsUnchangedGenomes(true)
+                .sharesFoldPrefixesEvery(4)
+                .usesSelectionAlgorithm(new TunierBestFitnessSelectionAlgorithm(5));
+    }
+}
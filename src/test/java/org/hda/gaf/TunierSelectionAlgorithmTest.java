@@ -0,0 +1,125 @@
+package org.hda.gaf;
+
+import org.hda.gaf.algorithm.Population;
+import org.hda.gaf.algorithm.WorkerPool;
+import org.hda.gaf.algorithm.genome.Genome;
+import org.hda.gaf.algorithm.selectionalgorithm.FitnessProportionalSelectionAlgorithm;
+import org.hda.gaf.algorithm.selectionalgorithm.SelectionAlgorithm;
+import org.hda.gaf.algorithm.selectionalgorithm.TunierBestFitnessSelectionAlgorithm;
+import org.hda.gaf.algorithm.selectionalgorithm.TunierFitnessProportionalSelectionAlgorithm;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class TunierSelectionAlgorithmTest {
+
+    private static final int POPULATION_SIZE = 10;
+    private static final int CANDIDATE_AMOUNT = 3;
+    private static final int SELECTIONS = 3000;
+
+    @Test
+    public void bestFitnessPicksEveryRankLikeADrawWithoutReplacement() {
+        double[] picked = pickShares(new TunierBestFitnessSelectionAlgorithm(CANDIDATE_AMOUNT));
+
+        //index i has the i-th lowest fitness -> wins if the other candidates have lower ones
+        for (int i = 0; i < POPULATION_SIZE; i++) {
+            double expectedShare = binomial(i, CANDIDATE_AMOUNT - 1) / binomial(POPULATION_SIZE, CANDIDATE_AMOUNT);
+            assertThat(picked[i]).isCloseTo(expectedShare, within(0.01));
+        }
+    }
+
+    @Test
+    public void fitnessProportionalPicksEveryCandidate() {
+        double[] picked = pickShares(new TunierFitnessProportionalSelectionAlgorithm(CANDIDATE_AMOUNT));
+
+        for (int i = 1; i < POPULATION_SIZE; i++) {
+            assertThat(picked[i]).isGreaterThan(picked[i - 1] * 0.9);
+        }
+        assertThat(picked[0]).isEqualTo(0); //no fitness -> only picked if all candidates have none, which is impossible here
+    }
+
+    @Test
+    public void limitsCandidatesToPopulationSize() {
+        Population population = createPopulation();
+
+        new TunierBestFitnessSelectionAlgorithm(POPULATION_SIZE * 2).selectOnPopulation(population);
+
+        assertThat(population.getGenepool()).extracting(Genome::getOrigin).containsOnly(POPULATION_SIZE - 1);
+    }
+
+    private double[] pickShares(SelectionAlgorithm selectionAlgorithm) {
+        double[] picked = new double[POPULATION_SIZE];
+        for (int i = 0; i < SELECTIONS; i++) {
+            Population population = createPopulation();
+            selectionAlgorithm.selectOnPopulation(population);
+
+            for (Genome genome : population.getGenepool()) {
+                picked[genome.getOrigin()] += 1.0 / (SELECTIONS * POPULATION_SIZE);
+            }
+        }
+        return picked;
+    }
+
+    private Population createPopulation() {
+        Population population = new Population(POPULATION_SIZE);
+        List<Genome> genepool = new ArrayList<>();
+
+        population.getStore().resize(POPULATION_SIZE);
+        for (int i = 0; i < POPULATION_SIZE; i++) {
+            genepool.add(new Genome(4));
+            population.getStore().record(i, i, 0, 0, 0);
+        }
+        population.setGenepool(genepool);
+
+        return population;
+    }
+
+    private static double binomial(int n, int k) {
+        double binomial = 1;
+        for (int i = 0; i < k; i++) {
+            binomial = binomial * (n - i) / (i + 1);
+        }
+        return binomial;
+    }
+
+    @Test
+    public void sameSeedAndThreadsGiveSameSelection() {
+        for (int threads = 1; threads <= 3; threads++) {
+            try (WorkerPool workerPool = new WorkerPool(threads)) {
+                assertThat(selectedOrigins(new TunierBestFitnessSelectionAlgorithm(CANDIDATE_AMOUNT).usesSeed(5).usesWorkers(workerPool)))
+                        .isEqualTo(selectedOrigins(new TunierBestFitnessSelectionAlgorithm(CANDIDATE_AMOUNT).usesSeed(5).usesWorkers(workerPool)));
+                assertThat(selectedOrigins(new TunierFitnessProportionalSelectionAlgorithm(CANDIDATE_AMOUNT).usesSeed(5).usesWorkers(workerPool)))
+                        .isEqualTo(selectedOrigins(new TunierFitnessProportionalSelectionAlgorithm(CANDIDATE_AMOUNT).usesSeed(5).usesWorkers(workerPool)));
+                assertThat(selectedOrigins(new FitnessProportionalSelectionAlgorithm().usesSeed(5).usesWorkers(workerPool)))
+                        .isEqualTo(selectedOrigins(new FitnessProportionalSelectionAlgorithm().usesSeed(5).usesWorkers(workerPool)));
+            }
+        }
+    }
+
+    @Test
+    public void parallelSelectionPicksEveryRankLikeADrawWithoutReplacement() {
+        double[] picked;
+        try (WorkerPool workerPool = new WorkerPool(3)) {
+            picked = pickShares(new TunierBestFitnessSelectionAlgorithm(CANDIDATE_AMOUNT).usesWorkers(workerPool));
+        }
+
+        for (int i = 0; i < POPULATION_SIZE; i++) {
+            double expectedShare = binomial(i, CANDIDATE_AMOUNT - 1) / binomial(POPULATION_SIZE, CANDIDATE_AMOUNT);
+            assertThat(picked[i]).isCloseTo(expectedShare, within(0.01));
+        }
+    }
+
+    private List<Integer> selectedOrigins(SelectionAlgorithm selectionAlgorithm) {
+        List<Integer> origins = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Population population = createPopulation();
+            selectionAlgorithm.selectOnPopulation(population);
+            population.getGenepool().forEach(genome -> origins.add(genome.getOrigin()));
+        }
+        return origins;
+    }
+}
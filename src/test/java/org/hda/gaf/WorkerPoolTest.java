@@ -0,0 +1,68 @@
+package org.hda.gaf;
+
+import org.hda.gaf.algorithm.WorkerPool;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class WorkerPoolTest {
+
+    @Test
+    public void returnsResultsOfChunksInOrder() {
+        for (int threads : new int[]{1, 3}) {
+            try (WorkerPool workerPool = new WorkerPool(threads)) {
+                List<Integer> froms = workerPool.performInChunks(100, 7, (from, to) -> () -> from, "Test");
+
+                assertThat(froms).hasSize(15);
+                for (int i = 0; i < froms.size(); i++) {
+                    assertThat(froms.get(i)).isEqualTo(i * 7);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void coversEveryIndexOnceWithChunksPerThread() {
+        try (WorkerPool workerPool = new WorkerPool(3)) {
+            int[] covered = new int[1000];
+            workerPool.performInChunks(covered.length, (from, to) -> () -> {
+                for (int i = from; i < to; i++) {
+                    covered[i]++;
+                }
+                return null;
+            }, "Test");
+
+            for (int count : covered) {
+                assertThat(count).isEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    public void startsAgainAfterClosing() {
+        WorkerPool workerPool = new WorkerPool(2);
+        workerPool.performInChunks(10, (from, to) -> () -> to - from, "Test");
+        workerPool.close();
+
+        assertThat(workerPool.performInChunks(10, (from, to) -> () -> to - from, "Test").stream().mapToInt(Integer::intValue).sum()).isEqualTo(10);
+        workerPool.close();
+    }
+
+    @Test
+    public void rethrowsFailureOfChunkNamedAfterWork() {
+        for (int threads : new int[]{1, 2}) {
+            try (WorkerPool workerPool = new WorkerPool(threads)) {
+                workerPool.performInChunks(10, (from, to) -> () -> {
+                    throw new ArithmeticException("chunk " + from);
+                }, "Counting");
+                fail("failure of chunk was swallowed");
+            } catch (IllegalStateException e) {
+                assertThat(e).hasMessage("Counting failed");
+                assertThat(e.getCause()).isInstanceOf(ArithmeticException.class);
+            }
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package org.hda.gaf.counter;
 
+import org.hda.gaf.algorithm.PopulationStore;
+import org.hda.gaf.algorithm.WorkerPool;
 import org.hda.gaf.algorithm.evaluation.counter.HammingDistanceCounter;
 import org.hda.gaf.algorithm.evaluation.direction.RelativeDirection;
-import org.hda.gaf.algorithm.evaluation.node.Structure;
+import org.hda.gaf.algorithm.genome.Genome;
 import com.google.common.collect.ImmutableList;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.hda.gaf.algorithm.evaluation.direction.RelativeDirection.*;
 import static junit.framework.Assert.assertEquals;
@@ -30,63 +34,51 @@ public class HammingDistanceCounterTest {
 
     @Test
     public void hemmingDistanceNotCalculatedFlag() {
-        List<Structure> structures = ImmutableList.of(createStructure(standardDirections), createStructure(oneDifferenceDirections));
+        PopulationStore store = calculate(false, standardDirections, oneDifferenceDirections); //calc flag = false
 
-        structures = hammingDistanceCounter.calculateHammingDistance(false, structures); //calc flag = false
-
-        for (Structure structure : structures) {
-            assertEquals(0.0, structure.getAverageHammingDistance(), 0.0); //should not be calculated, standard value = 0
-            assertEquals(0.0, structure.getTotalHammingDistance(), 0.0);
+        for (int i = 0; i < store.getSize(); i++) {
+            assertEquals(0.0, store.getHamming()[i], 0.0); //should not be calculated, standard value = 0
+            assertEquals(0.0, store.getTotalHamming()[i], 0.0);
         }
     }
 
     @Test
     public void sameDirections() {
-        List<Structure> structures = ImmutableList.of(createStructure(standardDirections), createStructure(standardDirections));
-
-        structures = hammingDistanceCounter.calculateHammingDistance(true, structures);
+        PopulationStore store = calculate(true, standardDirections, standardDirections);
 
-        for (Structure structure : structures) {
-            assertEquals(0.0, structure.getAverageHammingDistance(), 0.0);
-            assertEquals(0.0, structure.getTotalHammingDistance(), 0.0);
+        for (int i = 0; i < store.getSize(); i++) {
+            assertEquals(0.0, store.getHamming()[i], 0.0);
+            assertEquals(0.0, store.getTotalHamming()[i], 0.0);
         }
     }
 
     @Test
     public void multipleSameDirections() {
-        List<Structure> structures = ImmutableList.of(createStructure(standardDirections),
-                createStructure(standardDirections),
-                createStructure(standardDirections));
-
-        structures = hammingDistanceCounter.calculateHammingDistance(true, structures);
+        PopulationStore store = calculate(true, standardDirections, standardDirections, standardDirections);
 
-        for (Structure structure : structures) {
-            assertEquals(0.0, structure.getAverageHammingDistance(), 0.0);
-            assertEquals(0.0, structure.getTotalHammingDistance(), 0.0);
+        for (int i = 0; i < store.getSize(); i++) {
+            assertEquals(0.0, store.getHamming()[i], 0.0);
+            assertEquals(0.0, store.getTotalHamming()[i], 0.0);
         }
     }
 
     @Test
     public void oneDifferenceOnTwoDirections() {
-        List<Structure> structures = ImmutableList.of(createStructure(standardDirections), createStructure(oneDifferenceDirections));
+        PopulationStore store = calculate(true, standardDirections, oneDifferenceDirections);
 
-        structures = hammingDistanceCounter.calculateHammingDistance(true, structures);
-
-        for (Structure structure : structures) {
-            assertEquals(1.0, structure.getAverageHammingDistance(), 0.0);
-            assertEquals(1.0, structure.getTotalHammingDistance(), 0.0);
+        for (int i = 0; i < store.getSize(); i++) {
+            assertEquals(1.0, store.getHamming()[i], 0.0);
+            assertEquals(1.0, store.getTotalHamming()[i], 0.0);
         }
     }
 
     @Test
     public void twoDifferencesOnTwoDirections() {
-        List<Structure> structures = ImmutableList.of(createStructure(standardDirections), createStructure(twoDifferenceDirections));
-
-        structures = hammingDistanceCounter.calculateHammingDistance(true, structures);
+        PopulationStore store = calculate(true, standardDirections, twoDifferenceDirections);
 
-        for (Structure structure : structures) {
-            assertEquals(2.0, structure.getAverageHammingDistance(), 0.0);
-            assertEquals(2.0, structure.getTotalHammingDistance(), 0.0);
+        for (int i = 0; i < store.getSize(); i++) {
+            assertEquals(2.0, store.getHamming()[i], 0.0);
+            assertEquals(2.0, store.getTotalHamming()[i], 0.0);
         }
     }
 
@@ -96,13 +88,11 @@ public class HammingDistanceCounterTest {
         List<RelativeDirection> directions2 = ImmutableList.of(STRAIGHT, RIGHT);
         List<RelativeDirection> directions3 = ImmutableList.of(STRAIGHT, STRAIGHT);
 
-        List<Structure> structures = ImmutableList.of(createStructure(directions1), createStructure(directions2), createStructure(directions3));
-
-        structures = hammingDistanceCounter.calculateHammingDistance(true, structures);
+        PopulationStore store = calculate(true, directions1, directions2, directions3);
 
-        for (Structure structure : structures) {
-            assertEquals(1.0, structure.getAverageHammingDistance(), 0.0);
-            assertEquals(2.0, structure.getTotalHammingDistance(), 0.0);
+        for (int i = 0; i < store.getSize(); i++) {
+            assertEquals(1.0, store.getHamming()[i], 0.0);
+            assertEquals(2.0, store.getTotalHamming()[i], 0.0);
         }
     }
 
@@ -112,13 +102,11 @@ public class HammingDistanceCounterTest {
         List<RelativeDirection> directions2 = ImmutableList.of(LEFT, RIGHT);
         List<RelativeDirection> directions3 = ImmutableList.of(RIGHT, STRAIGHT);
 
-        List<Structure> structures = ImmutableList.of(createStructure(directions1), createStructure(directions2), createStructure(directions3));
+        PopulationStore store = calculate(true, directions1, directions2, directions3);
 
-        structures = hammingDistanceCounter.calculateHammingDistance(true, structures);
-
-        for (Structure structure : structures) {
-            assertEquals(2.0, structure.getAverageHammingDistance(), 0.0);
-            assertEquals(4.0, structure.getTotalHammingDistance(), 0.0);
+        for (int i = 0; i < store.getSize(); i++) {
+            assertEquals(2.0, store.getHamming()[i], 0.0);
+            assertEquals(4.0, store.getTotalHamming()[i], 0.0);
         }
     }
 
@@ -129,42 +117,78 @@ public class HammingDistanceCounterTest {
         List<RelativeDirection> directions3 = ImmutableList.of(RIGHT, RIGHT, RIGHT, RIGHT);
         List<RelativeDirection> directions4 = ImmutableList.of(LEFT, RIGHT, STRAIGHT, RIGHT);
 
-        List<Structure> structures = ImmutableList.of(createStructure(directions1), createStructure(directions2),
-                createStructure(directions3), createStructure(directions4));
-
-        structures = hammingDistanceCounter.calculateHammingDistance(true, structures);
+        List<List<RelativeDirection>> genepool = ImmutableList.of(directions1, directions2, directions3, directions4);
+        PopulationStore store = calculate(true, directions1, directions2, directions3, directions4);
 
-        for (Structure structure : structures) {
-            if (directions1.equals(structure.getRelativeDirections()) || directions2.equals(structure.getRelativeDirections())) {
+        for (int i = 0; i < store.getSize(); i++) {
+            if (directions1.equals(genepool.get(i)) || directions2.equals(genepool.get(i))) {
                 double expectedTotal = 4 + 4 + 3;
                 double expectedAverage = expectedTotal / 3;
 
-                assertEquals(expectedAverage, structure.getAverageHammingDistance(), 0.0);
-                assertEquals(expectedTotal, structure.getTotalHammingDistance(), 0.0);
+                assertEquals(expectedAverage, store.getHamming()[i], 0.0);
+                assertEquals(expectedTotal, store.getTotalHamming()[i], 0.0);
             }
 
-            if (directions3.equals(structure.getRelativeDirections())) {
+            if (directions3.equals(genepool.get(i))) {
                 double expectedTotal = 4 + 4 + 2;
                 double expectedAverage = expectedTotal / 3;
 
-                assertEquals(expectedAverage, structure.getAverageHammingDistance(), 0.0);
-                assertEquals(expectedTotal, structure.getTotalHammingDistance(), 0.0);
+                assertEquals(expectedAverage, store.getHamming()[i], 0.0);
+                assertEquals(expectedTotal, store.getTotalHamming()[i], 0.0);
             }
 
-            if (directions4.equals(structure.getRelativeDirections())) {
+            if (directions4.equals(genepool.get(i))) {
                 double expectedTotal = 3 + 3 + 2;
                 double expectedAverage = expectedTotal / 3;
 
-                assertEquals(expectedAverage, structure.getAverageHammingDistance(), 0.0);
-                assertEquals(expectedTotal, structure.getTotalHammingDistance(), 0.0);
+                assertEquals(expectedAverage, store.getHamming()[i], 0.0);
+                assertEquals(expectedTotal, store.getTotalHamming()[i], 0.0);
+            }
+        }
+
+    }
+
+    @Test
+    public void directionCountsGiveSameDistancesAsComparingEveryPair() {
+        Random rand = new Random(7);
+        List<Genome> genepool = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Genome genome = new Genome(155);
+            for (int gene = 0; gene < genome.size(); gene++) {
+                genome.setCode(gene, rand.nextInt(3));
             }
+            genepool.add(genome);
         }
 
+        for (int threads : new int[]{1, 3}) {
+            PopulationStore store = new PopulationStore(genepool.size());
+            store.resize(genepool.size());
+            try (WorkerPool workerPool = new WorkerPool(threads)) {
+                new HammingDistanceCounter().usesWorkers(workerPool).calculateHammingDistance(true, genepool, store);
+            }
+
+            for (int i = 0; i < genepool.size(); i++) {
+                double expectedTotal = 0;
+                for (Genome other : genepool) {
+                    expectedTotal += genepool.get(i).hammingDistance(other);
+                }
+
+                assertEquals(expectedTotal, store.getTotalHamming()[i], 0.0);
+                assertEquals(expectedTotal / (genepool.size() - 1), store.getHamming()[i], 1e-9);
+            }
+        }
     }
 
-    private Structure createStructure(List<RelativeDirection> directions) {
-        Structure structure1 = new Structure();
-        structure1.setRelativeDirections(directions);
-        return structure1;
+    @SafeVarargs
+    private final PopulationStore calculate(boolean calcHammingDistance, List<RelativeDirection>... directions) {
+        List<Genome> genepool = new ArrayList<>();
+        PopulationStore store = new PopulationStore(directions.length);
+        store.resize(directions.length);
+
+        for (List<RelativeDirection> direction : directions) {
+            genepool.add(Genome.fromDirections(direction));
+        }
+
+        return hammingDistanceCounter.calculateHammingDistance(calcHammingDistance, genepool, store);
     }
 }